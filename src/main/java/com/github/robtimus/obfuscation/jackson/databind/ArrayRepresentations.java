@@ -0,0 +1,250 @@
+/*
+ * ArrayRepresentations.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+
+// Default character representation providers for primitive arrays. These produce the same results as Arrays.toString, but they presize the
+// StringBuilder so it never needs to grow, and they return that StringBuilder instead of copying it into a String.
+// The result is not taken from a pool of buffers, because Obfuscated and obfuscated collections may keep it for an unknown amount of time.
+final class ArrayRepresentations {
+
+    @SuppressWarnings("nls")
+    private static final String EMPTY = "[]";
+
+    @SuppressWarnings("nls")
+    private static final String SEPARATOR = ", ";
+
+    // The estimated average length of floating point values; these don't have a cheap exact string size
+    private static final int FLOATING_POINT_LENGTH_ESTIMATE = 10;
+
+    static final CharacterRepresentationProvider BOOLEAN_ARRAY = value -> toCharSequence((boolean[]) value);
+    static final CharacterRepresentationProvider BYTE_ARRAY = value -> toCharSequence((byte[]) value);
+    static final CharacterRepresentationProvider SHORT_ARRAY = value -> toCharSequence((short[]) value);
+    static final CharacterRepresentationProvider INT_ARRAY = value -> toCharSequence((int[]) value);
+    static final CharacterRepresentationProvider LONG_ARRAY = value -> toCharSequence((long[]) value);
+    static final CharacterRepresentationProvider FLOAT_ARRAY = value -> toCharSequence((float[]) value);
+    static final CharacterRepresentationProvider DOUBLE_ARRAY = value -> toCharSequence((double[]) value);
+
+    private ArrayRepresentations() {
+    }
+
+    static CharacterRepresentationProvider defaultInstance(Class<?> type) {
+        if (type != null && type.isArray() && type.getComponentType().isPrimitive()) {
+            CharacterRepresentationProvider provider = forPrimitiveArray(type);
+            if (provider != null) {
+                return provider;
+            }
+        }
+        return CharacterRepresentationProvider.getDefaultInstance(type);
+    }
+
+    private static CharacterRepresentationProvider forPrimitiveArray(Class<?> type) {
+        if (type == boolean[].class) {
+            return BOOLEAN_ARRAY;
+        }
+        if (type == byte[].class) {
+            return BYTE_ARRAY;
+        }
+        if (type == short[].class) {
+            return SHORT_ARRAY;
+        }
+        if (type == int[].class) {
+            return INT_ARRAY;
+        }
+        if (type == long[].class) {
+            return LONG_ARRAY;
+        }
+        if (type == float[].class) {
+            return FLOAT_ARRAY;
+        }
+        if (type == double[].class) {
+            return DOUBLE_ARRAY;
+        }
+        // char[] is left to the default instance
+        return null;
+    }
+
+    static CharSequence toCharSequence(boolean[] array) {
+        if (array.length == 0) {
+            return EMPTY;
+        }
+        int length = fixedLength(array.length);
+        for (boolean value : array) {
+            length += value ? 4 : 5;
+        }
+        StringBuilder sb = new StringBuilder(length).append('[').append(array[0]);
+        for (int i = 1; i < array.length; i++) {
+            sb.append(SEPARATOR).append(array[i]);
+        }
+        return sb.append(']');
+    }
+
+    static CharSequence toCharSequence(byte[] array) {
+        if (array.length == 0) {
+            return EMPTY;
+        }
+        int length = fixedLength(array.length);
+        for (byte value : array) {
+            length += stringSize(value);
+        }
+        StringBuilder sb = new StringBuilder(length).append('[').append(array[0]);
+        for (int i = 1; i < array.length; i++) {
+            sb.append(SEPARATOR).append(array[i]);
+        }
+        return sb.append(']');
+    }
+
+    static CharSequence toCharSequence(short[] array) {
+        if (array.length == 0) {
+            return EMPTY;
+        }
+        int length = fixedLength(array.length);
+        for (short value : array) {
+            length += stringSize(value);
+        }
+        StringBuilder sb = new StringBuilder(length).append('[').append(array[0]);
+        for (int i = 1; i < array.length; i++) {
+            sb.append(SEPARATOR).append(array[i]);
+        }
+        return sb.append(']');
+    }
+
+    static CharSequence toCharSequence(int[] array) {
+        if (array.length == 0) {
+            return EMPTY;
+        }
+        int length = fixedLength(array.length);
+        for (int value : array) {
+            length += stringSize(value);
+        }
+        StringBuilder sb = new StringBuilder(length).append('[').append(array[0]);
+        for (int i = 1; i < array.length; i++) {
+            sb.append(SEPARATOR).append(array[i]);
+        }
+        return sb.append(']');
+    }
+
+    static CharSequence toCharSequence(long[] array) {
+        if (array.length == 0) {
+            return EMPTY;
+        }
+        int length = fixedLength(array.length);
+        for (long value : array) {
+            length += stringSize(value);
+        }
+        StringBuilder sb = new StringBuilder(length).append('[').append(array[0]);
+        for (int i = 1; i < array.length; i++) {
+            sb.append(SEPARATOR).append(array[i]);
+        }
+        return sb.append(']');
+    }
+
+    static CharSequence toCharSequence(float[] array) {
+        if (array.length == 0) {
+            return EMPTY;
+        }
+        StringBuilder sb = new StringBuilder(estimatedLength(array.length)).append('[').append(array[0]);
+        for (int i = 1; i < array.length; i++) {
+            sb.append(SEPARATOR).append(array[i]);
+        }
+        return sb.append(']');
+    }
+
+    static CharSequence toCharSequence(double[] array) {
+        if (array.length == 0) {
+            return EMPTY;
+        }
+        StringBuilder sb = new StringBuilder(estimatedLength(array.length)).append('[').append(array[0]);
+        for (int i = 1; i < array.length; i++) {
+            sb.append(SEPARATOR).append(array[i]);
+        }
+        return sb.append(']');
+    }
+
+    // Obfuscates the first size elements separately, with the same result as Obfuscator.obfuscateList for a list of the boxed elements
+    // with the default character representation. The elements are not boxed, and their representations reuse one StringBuilder.
+    static CharSequence obfuscateElements(int[] array, int size, Obfuscator obfuscator) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        int length = fixedLength(size);
+        for (int i = 0; i < size; i++) {
+            length += stringSize(array[i]);
+        }
+        StringBuilder sb = new StringBuilder(length).append('[');
+        StringBuilder element = new StringBuilder(11);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            element.setLength(0);
+            obfuscator.obfuscateText(element.append(array[i]), sb);
+        }
+        return sb.append(']');
+    }
+
+    static CharSequence obfuscateElements(long[] array, int size, Obfuscator obfuscator) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        int length = fixedLength(size);
+        for (int i = 0; i < size; i++) {
+            length += stringSize(array[i]);
+        }
+        StringBuilder sb = new StringBuilder(length).append('[');
+        StringBuilder element = new StringBuilder(20);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            element.setLength(0);
+            obfuscator.obfuscateText(element.append(array[i]), sb);
+        }
+        return sb.append(']');
+    }
+
+    // The length of the brackets and separators for a non-empty array
+    private static int fixedLength(int arrayLength) {
+        return 2 + (arrayLength - 1) * SEPARATOR.length();
+    }
+
+    private static int estimatedLength(int arrayLength) {
+        long length = fixedLength(arrayLength) + (long) arrayLength * FLOATING_POINT_LENGTH_ESTIMATE;
+        return (int) Math.min(length, Integer.MAX_VALUE - 8);
+    }
+
+    // The length of the string representation of a value, like Long.stringSize
+    static int stringSize(long value) {
+        int signLength = 1;
+        long x = value;
+        if (x >= 0) {
+            signLength = 0;
+            x = -x;
+        }
+        long p = -10;
+        for (int i = 1; i < 19; i++) {
+            if (x > p) {
+                return i + signLength;
+            }
+            p = 10 * p;
+        }
+        return 19 + signLength;
+    }
+}
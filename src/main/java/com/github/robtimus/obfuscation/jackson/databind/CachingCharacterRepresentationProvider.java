@@ -0,0 +1,262 @@
+/*
+ * CachingCharacterRepresentationProvider.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+
+/**
+ * A character representation provider that caches the character representations of another provider.
+ * <p>
+ * This is useful for providers that are expensive, like ones that format dates or pretty-print JSON, when the same values occur often.
+ * Recently used representations are kept in a bounded least-recently-used cache. The cache is bounded both by the number of values and by the
+ * total number of characters of the cached representations. The number of cache hits, misses and evictions are available through
+ * {@link #cacheHits()}, {@link #cacheMisses()} and {@link #cacheEvictions()}.
+ * <p>
+ * When used by an {@link ObfuscationModule} for {@link com.github.robtimus.obfuscation.Obfuscated Obfuscated} properties, the obfuscated
+ * representations are cached as well, per obfuscator and value, in a second cache with the same limits. Calling {@code toString()} on the
+ * deserialized {@code Obfuscated} instances then only runs the obfuscator for values that are not cached yet. For other uses, like the elements
+ * of obfuscated collections, only the character representations are cached, and the obfuscator still runs each time.
+ * <p>
+ * Values are used as cache keys, so this class should only be used for immutable types with value-based {@code equals} and {@code hashCode}
+ * methods. Arrays are therefore not suitable. Instances can be set per type using
+ * {@link ObfuscationModule.Builder#withDefaultCharacterRepresentation(Class, CharacterRepresentationProvider)}:
+ * <pre><code>
+ * ObfuscationModule module = ObfuscationModule.builder()
+ *         .withDefaultCharacterRepresentation(LocalDate.class, CachingCharacterRepresentationProvider.builder(provider).build())
+ *         .build();
+ * </code></pre>
+ * <p>
+ * Instances of this class are serializable if the wrapped provider is. The cached character representations are not serialized.
+ * <p>
+ * Instances of this class are thread-safe if the wrapped provider is.
+ *
+ * @author Rob Spoor
+ * @since 2.1
+ */
+public final class CachingCharacterRepresentationProvider implements CharacterRepresentationProvider, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // All fields are transient, because instances are serialized using a SerializedForm
+
+    private final transient CharacterRepresentationProvider provider;
+    private final transient int maxSize;
+    private final transient long maxCharacters;
+
+    private final transient SegmentedLruCache cache;
+    private final transient SegmentedLruCache obfuscatedCache;
+
+    private final transient LongAdder cacheHits = new LongAdder();
+    private final transient LongAdder cacheMisses = new LongAdder();
+
+    private CachingCharacterRepresentationProvider(Builder builder) {
+        this.provider = builder.provider;
+        this.maxSize = builder.maxSize;
+        this.maxCharacters = builder.maxCharacters;
+        this.cache = new SegmentedLruCache(maxSize, maxCharacters);
+        this.obfuscatedCache = new SegmentedLruCache(maxSize, maxCharacters);
+    }
+
+    @Override
+    public CharSequence toCharSequence(Object value) {
+        if (value == null) {
+            return provider.toCharSequence(value);
+        }
+        String representation = cache.get(value);
+        if (representation != null) {
+            cacheHits.increment();
+            return representation;
+        }
+        cacheMisses.increment();
+        // Compute the representation outside the lock; at worst the same representation is computed more than once
+        // The representation is stored as string, as the provider is free to return mutable character sequences
+        representation = provider.toCharSequence(value).toString();
+        cache.put(value, representation);
+        return representation;
+    }
+
+    // Returns the obfuscated character representation of a value, cached per obfuscator and value. Used by ObfuscatedDeserializer.
+    // A hit in either cache counts as a cache hit; a cache miss is only counted if the wrapped provider is called.
+    String obfuscatedRepresentation(Obfuscator obfuscator, Object value) {
+        if (value == null) {
+            return obfuscator.obfuscateText(provider.toCharSequence(value)).toString();
+        }
+        ObfuscatedKey key = new ObfuscatedKey(obfuscator, value);
+        String obfuscated = obfuscatedCache.get(key);
+        if (obfuscated != null) {
+            cacheHits.increment();
+            return obfuscated;
+        }
+        obfuscated = obfuscator.obfuscateText(toCharSequence(value)).toString();
+        obfuscatedCache.put(key, obfuscated);
+        return obfuscated;
+    }
+
+    /**
+     * Returns the number of times a character representation was found in the cache.
+     *
+     * @return The number of times a character representation was found in the cache.
+     */
+    public long cacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Returns the number of times a character representation had to be computed by the wrapped provider.
+     *
+     * @return The number of times a character representation had to be computed by the wrapped provider.
+     */
+    public long cacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Returns the number of character representations that were removed from the cache to make room for others.
+     *
+     * @return The number of character representations that were removed from the cache to make room for others.
+     */
+    public long cacheEvictions() {
+        return cache.evictions() + obfuscatedCache.evictions();
+    }
+
+    @Override
+    @SuppressWarnings("nls")
+    public String toString() {
+        return getClass().getName() + "[provider=" + provider + "]";
+    }
+
+    @SuppressWarnings("nls")
+    private Object writeReplace() throws ObjectStreamException {
+        if (!(provider instanceof Serializable)) {
+            throw new NotSerializableException(getClass().getName() + ": non-serializable provider " + provider.getClass().getName());
+        }
+        return new SerializedForm(this);
+    }
+
+    @SuppressWarnings({ "nls", "unused" })
+    private void readObject(ObjectInputStream input) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialized form required");
+    }
+
+    /**
+     * Returns a builder that will create {@code CachingCharacterRepresentationProviders}.
+     *
+     * @param provider The provider to cache the character representations of.
+     * @return A builder that will create {@code CachingCharacterRepresentationProviders}.
+     * @throws NullPointerException If the given provider is {@code null}.
+     */
+    public static Builder builder(CharacterRepresentationProvider provider) {
+        return new Builder(provider);
+    }
+
+    private record ObfuscatedKey(Obfuscator obfuscator, Object value) {
+    }
+
+    // The cached representations and the cache statistics are not serialized
+    private static final class SerializedForm implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CharacterRepresentationProvider provider; // NOSONAR
+        private final int maxSize;
+        private final long maxCharacters;
+
+        private SerializedForm(CachingCharacterRepresentationProvider provider) {
+            this.provider = provider.provider;
+            this.maxSize = provider.maxSize;
+            this.maxCharacters = provider.maxCharacters;
+        }
+
+        private Object readResolve() {
+            return builder(provider)
+                    .withMaxSize(maxSize)
+                    .withMaxCharacters(maxCharacters)
+                    .build();
+        }
+    }
+
+    /**
+     * A builder for {@link CachingCharacterRepresentationProvider CachingCharacterRepresentationProviders}.
+     *
+     * @author Rob Spoor
+     * @since 2.1
+     */
+    public static final class Builder {
+
+        private final CharacterRepresentationProvider provider;
+        private int maxSize = 1_000;
+        private long maxCharacters = Long.MAX_VALUE;
+
+        private Builder(CharacterRepresentationProvider provider) {
+            this.provider = Objects.requireNonNull(provider);
+        }
+
+        /**
+         * Sets the maximum number of character representations to cache. The default is {@code 1000}.
+         *
+         * @param maxSize The maximum number of character representations to cache.
+         * @return This object.
+         * @throws IllegalArgumentException If the given maximum size is not positive.
+         */
+        @SuppressWarnings("nls")
+        public Builder withMaxSize(int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total number of characters of cached character representations. The default is {@link Long#MAX_VALUE}, which
+         * means that only the {@link #withMaxSize(int) maximum size} limits the cache.
+         * <p>
+         * The cache is split into segments that each get an equal part of this maximum. Character representations that are longer than that part
+         * are never cached.
+         *
+         * @param maxCharacters The maximum total number of characters of cached character representations.
+         * @return This object.
+         * @throws IllegalArgumentException If the given maximum number of characters is not positive.
+         */
+        @SuppressWarnings("nls")
+        public Builder withMaxCharacters(long maxCharacters) {
+            if (maxCharacters <= 0) {
+                throw new IllegalArgumentException("maxCharacters must be positive: " + maxCharacters);
+            }
+            this.maxCharacters = maxCharacters;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link CachingCharacterRepresentationProvider} with the current settings of this builder.
+         *
+         * @return The created {@link CachingCharacterRepresentationProvider}.
+         */
+        public CachingCharacterRepresentationProvider build() {
+            return new CachingCharacterRepresentationProvider(this);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * DeepRepresentation.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import com.github.robtimus.obfuscation.Obfuscator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.databind.util.TokenBuffer;
+
+// Creates the character representation of a deeply obfuscated value, based on the buffered JSON structure of the value.
+// Scalar values are obfuscated individually; property names and the structure itself are kept.
+// The representation uses the same format as Map.toString() and List.toString().
+// The representation is created once, right after the value has been deserialized, so the buffer doesn't need to be retained.
+final class DeepRepresentation {
+
+    private DeepRepresentation() {
+    }
+
+    @SuppressWarnings("nls")
+    static String create(TokenBuffer buffer, Obfuscator obfuscator) {
+        StringBuilder sb = new StringBuilder();
+        try (JsonParser parser = buffer.asParser(ObjectReadContext.empty())) {
+            // false at the start of an object or array, and after a property name
+            boolean separatorNeeded = false;
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                switch (token) {
+                    case END_OBJECT:
+                        sb.append('}');
+                        separatorNeeded = true;
+                        break;
+                    case END_ARRAY:
+                        sb.append(']');
+                        separatorNeeded = true;
+                        break;
+                    case PROPERTY_NAME:
+                        appendSeparatorIfNeeded(sb, separatorNeeded);
+                        sb.append(parser.currentName()).append('=');
+                        separatorNeeded = false;
+                        break;
+                    case START_OBJECT:
+                        appendSeparatorIfNeeded(sb, separatorNeeded);
+                        sb.append('{');
+                        separatorNeeded = false;
+                        break;
+                    case START_ARRAY:
+                        appendSeparatorIfNeeded(sb, separatorNeeded);
+                        sb.append('[');
+                        separatorNeeded = false;
+                        break;
+                    case VALUE_NULL:
+                        appendSeparatorIfNeeded(sb, separatorNeeded);
+                        sb.append("null");
+                        separatorNeeded = true;
+                        break;
+                    default:
+                        appendSeparatorIfNeeded(sb, separatorNeeded);
+                        obfuscator.obfuscateText(scalarValue(parser, token), sb);
+                        separatorNeeded = true;
+                        break;
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendSeparatorIfNeeded(StringBuilder sb, boolean separatorNeeded) {
+        if (separatorNeeded) {
+            sb.append(", ");
+        }
+    }
+
+    private static String scalarValue(JsonParser parser, JsonToken token) {
+        if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            // binary formats can contain embedded objects like byte arrays, which don't have a textual representation
+            return String.valueOf(parser.getEmbeddedObject());
+        }
+        return parser.getString();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * DualOutputWriter.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.Objects;
+import com.github.robtimus.obfuscation.Obfuscated;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.util.TokenBuffer;
+
+/**
+ * A writer that writes a value to two outputs at once: a plain output, and a masked output.
+ * <p>
+ * The plain output is the same as the output of the {@link ObjectWriter} the writer is created for. In the masked output, each
+ * {@link Obfuscated} property is written as a JSON string that contains its obfuscated representation, as returned by
+ * {@link Obfuscated#toString()}. This can be used to send a value over the wire and log it at the same time.
+ * <p>
+ * The value is serialized only once. Its tokens are buffered, and the buffer is then copied to both outputs. Obfuscated values are therefore
+ * not serialized again for the masked output; only the writes to the masked output are extra.
+ * <p>
+ * {@code List}, {@code Set}, {@code Collection} and {@code Map} properties that the {@link ObfuscationModule} obfuscates during deserialization
+ * are written the same way, using the obfuscated representation of the entire collection or map as returned by
+ * {@link com.github.robtimus.obfuscation.Obfuscator#obfuscateList(java.util.List, java.util.function.Function)} and similar methods.
+ * If the obfuscator for such a property is determined by a {@link ObfuscationModule.Profile}, the profile must be set as attribute on the
+ * {@link ObjectWriter} in the same way as on {@code ObjectReader} instances.
+ * <p>
+ * The {@link ObfuscationModule} must be registered with the {@link ObjectWriter}'s mapper.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author Rob Spoor
+ * @since 2.1
+ */
+public final class DualOutputWriter {
+
+    private final ObjectWriter writer;
+
+    private DualOutputWriter(ObjectWriter writer) {
+        // The attribute lets ObfuscatedSerializer mark obfuscated values in the buffer
+        this.writer = writer.withAttribute(DualOutputWriter.class, Boolean.TRUE);
+    }
+
+    /**
+     * Creates a new dual output writer.
+     *
+     * @param writer The writer to use for serializing values.
+     * @return The created dual output writer.
+     * @throws NullPointerException If the given writer is {@code null}.
+     */
+    public static DualOutputWriter create(ObjectWriter writer) {
+        return new DualOutputWriter(Objects.requireNonNull(writer));
+    }
+
+    /**
+     * Writes a value to a plain and a masked output. Both generators are flushed afterwards, but not closed.
+     *
+     * @param value The value to write.
+     * @param plain The generator for the plain output.
+     * @param masked The generator for the masked output.
+     * @throws NullPointerException If either generator is {@code null}.
+     * @throws tools.jackson.core.JacksonException If the value could not be serialized or written.
+     */
+    public void writeValue(Object value, JsonGenerator plain, JsonGenerator masked) {
+        Objects.requireNonNull(plain);
+        Objects.requireNonNull(masked);
+
+        try (TokenBuffer buffer = TokenBuffer.forGeneration()) {
+            writer.writeValue(buffer, value);
+
+            try (JsonParser parser = buffer.asParser(ObjectReadContext.empty())) {
+                copyPlain(parser, plain);
+            }
+            try (JsonParser parser = buffer.asParser(ObjectReadContext.empty())) {
+                copyMasked(parser, masked);
+            }
+        }
+        plain.flush();
+        masked.flush();
+    }
+
+    private static void copyPlain(JsonParser parser, JsonGenerator generator) {
+        while (parser.nextToken() != null) {
+            if (!isMarker(parser)) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    private static void copyMasked(JsonParser parser, JsonGenerator generator) {
+        while (parser.nextToken() != null) {
+            if (isMarker(parser)) {
+                generator.writeString(((Masked) parser.getEmbeddedObject()).obfuscated.toString());
+                // Skip the plain value that follows the marker
+                parser.nextToken();
+                parser.skipChildren();
+            } else {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    private static boolean isMarker(JsonParser parser) {
+        return parser.hasToken(JsonToken.VALUE_EMBEDDED_OBJECT) && parser.getEmbeddedObject() instanceof Masked;
+    }
+
+    static boolean isEnabled(SerializationContext ctxt) {
+        return ctxt.getAttribute(DualOutputWriter.class) != null;
+    }
+
+    // The masked output will contain the result of calling toString() on the given object
+    static Object marker(Object obfuscated) {
+        return new Masked(obfuscated);
+    }
+
+    // Precedes the plain value of an obfuscated property in the buffer
+    private static final class Masked {
+
+        // an Obfuscated instance, or an obfuscating List, Set, Collection or Map
+        private final Object obfuscated;
+
+        private Masked(Object obfuscated) {
+            this.obfuscated = obfuscated;
+        }
+    }
+}
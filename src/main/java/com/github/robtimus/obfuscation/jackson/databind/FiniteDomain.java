@@ -0,0 +1,90 @@
+/*
+ * FiniteDomain.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+
+// The possible values of a type with a small, fixed set of values, like enums and booleans.
+// This allows the obfuscated representations of all values to be computed once, so rendering a value becomes an array lookup.
+final class FiniteDomain {
+
+    private static final FiniteDomain BOOLEAN = new FiniteDomain(new Object[] { Boolean.FALSE, Boolean.TRUE }, null);
+
+    private final Object[] values;
+    // null for enums and booleans, which use their ordinal or value as index
+    private final Map<Object, Integer> indexes;
+
+    private FiniteDomain(Object[] values, Map<Object, Integer> indexes) {
+        this.values = values;
+        this.indexes = indexes;
+    }
+
+    static FiniteDomain of(Collection<?> values) {
+        Object[] valueArray = values.stream().distinct().toArray();
+        Map<Object, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < valueArray.length; i++) {
+            indexes.put(valueArray[i], i);
+        }
+        return new FiniteDomain(valueArray, indexes);
+    }
+
+    // returns null if the type has no implicit finite domain
+    static FiniteDomain implicit(Class<?> type) {
+        if (type.isEnum()) {
+            return new FiniteDomain(type.getEnumConstants(), null);
+        }
+        if (type == Boolean.class) {
+            return BOOLEAN;
+        }
+        return null;
+    }
+
+    List<Object> values() {
+        return List.of(values);
+    }
+
+    // returns -1 if the value is not part of this domain
+    int indexOf(Object value) {
+        if (indexes != null) {
+            Integer index = indexes.get(value);
+            return index != null ? index : -1;
+        }
+        if (value instanceof Enum<?> enumValue) {
+            int ordinal = enumValue.ordinal();
+            // Guard against values of a different enum type, which should not occur
+            return ordinal < values.length && values[ordinal] == value ? ordinal : -1;
+        }
+        if (value instanceof Boolean booleanValue) {
+            return booleanValue.booleanValue() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    String[] representations(Obfuscator obfuscator, CharacterRepresentationProvider characterRepresentationProvider) {
+        String[] representations = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            representations[i] = obfuscator.obfuscateText(characterRepresentationProvider.toCharSequence(values[i])).toString();
+        }
+        return representations;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * FlightRecorderEvents.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// The JDK Flight Recorder events emitted by ObfuscationMonitor.
+// The jdk.jfr module is optional, so this class is only used after ObfuscationMonitor has checked that the module is available.
+// The methods only use types of java.base in their signatures, so classes that call them don't need to load any jdk.jfr class.
+final class FlightRecorderEvents {
+
+    static {
+        FlightRecorder.register(ValueDeserializedEvent.class);
+        FlightRecorder.register(RepresentationComputedEvent.class);
+    }
+
+    private FlightRecorderEvents() {
+    }
+
+    static void register() {
+        // does nothing; calling this method causes the static initializer to register the events
+    }
+
+    static void valueDeserialized(Class<?> beanType, String property, Class<?> valueType, Class<?> obfuscator, int valueLength) {
+        ValueDeserializedEvent event = new ValueDeserializedEvent();
+        if (event.shouldCommit()) {
+            event.beanType = beanType;
+            event.property = property;
+            event.valueType = valueType;
+            event.obfuscator = obfuscator;
+            event.valueLength = valueLength;
+            event.commit();
+        }
+    }
+
+    static Object beginRepresentationComputed() {
+        RepresentationComputedEvent event = new RepresentationComputedEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endRepresentationComputed(Object startedEvent, Class<?> valueType, Class<?> provider, int length) {
+        RepresentationComputedEvent event = (RepresentationComputedEvent) startedEvent;
+        if (event.shouldCommit()) {
+            event.valueType = valueType;
+            event.provider = provider;
+            event.length = length;
+            event.commit();
+        }
+    }
+
+    @Name("com.github.robtimus.obfuscation.jackson.databind.ValueDeserialized")
+    @Label("Obfuscated Value Deserialized")
+    @Description("A property value was obfuscated during deserialization")
+    @Category({ "Obfuscation", "Jackson" })
+    static final class ValueDeserializedEvent extends Event {
+
+        @Label("Bean Type")
+        Class<?> beanType;
+
+        @Label("Property")
+        String property;
+
+        @Label("Value Type")
+        Class<?> valueType;
+
+        @Label("Obfuscator")
+        Class<?> obfuscator;
+
+        @Label("Value Length")
+        @Description("The length of strings and byte arrays, or the size of collections and maps; -1 for other values")
+        int valueLength;
+    }
+
+    @Name("com.github.robtimus.obfuscation.jackson.databind.RepresentationComputed")
+    @Label("Obfuscated Value Representation Computed")
+    @Description("The character representation of an obfuscated value was computed")
+    @Category({ "Obfuscation", "Jackson" })
+    static final class RepresentationComputedEvent extends Event {
+
+        @Label("Value Type")
+        Class<?> valueType;
+
+        @Label("Character Representation Provider")
+        Class<?> provider;
+
+        @Label("Length")
+        int length;
+    }
+}
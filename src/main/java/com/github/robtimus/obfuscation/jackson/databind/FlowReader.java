@@ -0,0 +1,316 @@
+/*
+ * FlowReader.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.async.ByteArrayFeeder;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.exc.MismatchedInputException;
+import tools.jackson.databind.util.TokenBuffer;
+
+/**
+ * A {@link Flow.Processor} that reads a sequence of root-level JSON values, like NDJSON, from chunks of bytes.
+ * <p>
+ * The chunks are parsed using a non-blocking parser, so values may be split across chunks in any way. Each value is buffered, and
+ * deserialized once it's complete, using the same {@link ObjectReader} and therefore the same cached deserializers. Any attributes of the
+ * reader, like a {@link ObfuscationModule.Profile Profile}, apply to all values. JSON {@code null} values are skipped.
+ * <p>
+ * Chunks are only requested from the upstream publisher if the downstream subscriber has requested values, and all values of the previous
+ * chunk have been published. At most one chunk is requested at a time, so at most one chunk and the values it contains are buffered,
+ * regardless of the length of the stream.
+ * <p>
+ * Instances of this class support only one subscriber, and can only be subscribed to one publisher. They are thread-safe.
+ *
+ * @author Rob Spoor
+ * @param <T> The type of values to read.
+ * @since 2.1
+ */
+public final class FlowReader<T> implements Flow.Processor<ByteBuffer, T> {
+
+    private final ObjectReader reader;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private final Queue<ByteBuffer> chunks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Flow.Subscriber<? super T>> registeredSubscriber = new AtomicReference<>();
+
+    private volatile Flow.Subscription upstream;
+    // Only set after the subscriber's onSubscribe method has returned, so no other signals are sent before that
+    private volatile Flow.Subscriber<? super T> downstream;
+    private volatile boolean upstreamDone = false;
+    private volatile boolean cancelled = false;
+
+    // The following fields are only accessed in drain, which is never executed concurrently
+    private final Deque<T> values = new ArrayDeque<>();
+    private TokenBuffer currentValue;
+    private int depth = 0;
+    private boolean chunkRequested = false;
+    private boolean inputEnded = false;
+    private boolean done = false;
+
+    private FlowReader(ObjectReader reader) {
+        this.reader = reader;
+        this.parser = reader.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.nonBlockingInputFeeder();
+    }
+
+    /**
+     * Creates a new flow reader.
+     *
+     * @param <T> The type of values to read.
+     * @param reader The reader to use for deserializing values. It will be {@link ObjectReader#forType(Class) configured} for the given type.
+     * @param type The type of values to read.
+     * @return The created flow reader.
+     * @throws NullPointerException If the given reader or type is {@code null}.
+     */
+    public static <T> FlowReader<T> create(ObjectReader reader, Class<T> type) {
+        return new FlowReader<>(reader.forType(Objects.requireNonNull(type)));
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(ByteBuffer item) {
+        Objects.requireNonNull(item);
+        // Copy the bytes, as the publisher is free to reuse the buffer after this method returns
+        byte[] bytes = new byte[item.remaining()];
+        item.get(bytes);
+        chunks.add(ByteBuffer.wrap(bytes));
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error.compareAndSet(null, Objects.requireNonNull(throwable));
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    @SuppressWarnings("nls")
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (registeredSubscriber.compareAndSet(null, subscriber)) {
+            // Don't call onSubscribe while holding a lock; subscribers may call request or cancel from other threads
+            subscriber.onSubscribe(new DownstreamSubscription());
+            downstream = subscriber;
+            drain();
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                // no values will be published
+            }
+
+            @Override
+            public void cancel() {
+                // nothing to cancel
+            }
+        });
+        subscriber.onError(new IllegalStateException(FlowReader.class.getSimpleName() + " supports only one subscriber"));
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super T> subscriber = downstream;
+            if (subscriber != null && !done) {
+                drainLoop(subscriber);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    @SuppressWarnings("nls")
+    private void drainLoop(Flow.Subscriber<? super T> subscriber) {
+        for (;;) {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            Throwable throwable = error.get();
+            if (throwable != null) {
+                terminate();
+                subscriber.onError(throwable);
+                return;
+            }
+            try {
+                ByteBuffer chunk = chunks.poll();
+                if (chunk != null) {
+                    chunkRequested = false;
+                    feeder.feedInput(chunk.array(), 0, chunk.limit());
+                    parseAvailableTokens();
+                    continue;
+                }
+                if (!values.isEmpty()) {
+                    if (requested.get() == 0) {
+                        // Wait for the subscriber to request more values
+                        return;
+                    }
+                    subscriber.onNext(values.poll());
+                    consumeDemand();
+                    continue;
+                }
+                if (upstreamDone) {
+                    if (!inputEnded) {
+                        inputEnded = true;
+                        feeder.endOfInput();
+                        parseAvailableTokens();
+                        continue;
+                    }
+                    boolean incomplete = currentValue != null;
+                    terminate();
+                    if (incomplete) {
+                        subscriber.onError(MismatchedInputException.from(parser, reader.getValueType(), "Unexpected end of input"));
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // Not only JacksonExceptions; custom deserializers and the subscriber's onNext method can throw other exceptions as well
+                cancelUpstream();
+                terminate();
+                subscriber.onError(e);
+                return;
+            }
+            Flow.Subscription subscription = upstream;
+            if (requested.get() > 0 && !chunkRequested && subscription != null) {
+                chunkRequested = true;
+                // This may cause onNext to be called synchronously; that will be handled in the next iteration of drain
+                subscription.request(1);
+            }
+            return;
+        }
+    }
+
+    private void parseAvailableTokens() {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (currentValue == null) {
+                currentValue = TokenBuffer.forBuffering(parser, parser.objectReadContext());
+            }
+            currentValue.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth == 0) {
+                addValue();
+            }
+        }
+    }
+
+    private void addValue() {
+        T value;
+        try (JsonParser valueParser = currentValue.asParser(ObjectReadContext.empty())) {
+            value = reader.readValue(valueParser);
+        }
+        currentValue = null;
+        if (value != null) {
+            values.add(value);
+        }
+    }
+
+    private void consumeDemand() {
+        long current;
+        do {
+            current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                // unbounded
+                return;
+            }
+        } while (!requested.compareAndSet(current, current - 1));
+    }
+
+    private void cancelUpstream() {
+        Flow.Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    private void terminate() {
+        done = true;
+        values.clear();
+        chunks.clear();
+        currentValue = null;
+        parser.close();
+    }
+
+    private final class DownstreamSubscription implements Flow.Subscription {
+
+        @Override
+        @SuppressWarnings("nls")
+        public void request(long n) {
+            if (n <= 0) {
+                cancelUpstream();
+                error.compareAndSet(null, new IllegalArgumentException("non-positive request: " + n));
+            } else {
+                requested.accumulateAndGet(n, (current, add) -> {
+                    long sum = current + add;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                cancelUpstream();
+                drain();
+            }
+        }
+    }
+}
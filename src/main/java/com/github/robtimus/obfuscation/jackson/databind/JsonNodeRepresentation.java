@@ -0,0 +1,257 @@
+/*
+ * JsonNodeRepresentation.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.JsonNodeType;
+import tools.jackson.databind.node.StringNode;
+
+/**
+ * A {@link CharacterRepresentationProvider} for {@link JsonNode JsonNodes}.
+ * <p>
+ * The representation is the JSON representation of the node, like the result of {@link JsonNode#toString()}, with two additions:
+ * <ul>
+ * <li>The representation can be limited to a maximum length. Once this length has been reached, the remainder of the node is not rendered at
+ *     all, and {@code ...} is appended instead. This prevents large trees from being rendered completely only to be obfuscated.</li>
+ * <li>Values at specific paths can be masked. Such values are obfuscated individually, and rendered as JSON strings.</li>
+ * </ul>
+ * The representation is rendered directly from the node, without copying or modifying the node.
+ * <p>
+ * Instances can be registered using {@link ObfuscationModule.Builder#withDefaultCharacterRepresentation(Class, CharacterRepresentationProvider)}:
+ * <pre><code>
+ * ObfuscationModule module = ObfuscationModule.builder()
+ *         .withDefaultCharacterRepresentation(JsonNode.class, JsonNodeRepresentation.builder()
+ *                 .withMaxLength(1024)
+ *                 .withMaskedPath("/card/number", Obfuscator.fixedLength(3))
+ *                 .build())
+ *         .build();
+ * </code></pre>
+ * <p>
+ * Instances of this class are immutable and thread-safe. They are serializable if their {@link Obfuscator Obfuscators} are.
+ *
+ * @author Rob Spoor
+ * @since 2.1
+ */
+public final class JsonNodeRepresentation implements CharacterRepresentationProvider, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressWarnings("nls")
+    private static final String TRUNCATED = "...";
+
+    @SuppressWarnings("nls")
+    private static final String WILDCARD = "*";
+
+    private final int maxLength;
+    private final PathNode maskedPaths;
+
+    private JsonNodeRepresentation(Builder builder) {
+        this.maxLength = builder.maxLength;
+        this.maskedPaths = builder.maskedPaths.immutableCopy();
+    }
+
+    @Override
+    public CharSequence toCharSequence(Object value) {
+        JsonNode node = (JsonNode) value;
+        StringBuilder sb = new StringBuilder();
+        if (!append(node, maskedPaths, sb)) {
+            sb.setLength(maxLength);
+            sb.append(TRUNCATED);
+        }
+        return sb;
+    }
+
+    // returns false if the maximum length has been exceeded
+    private boolean append(JsonNode node, PathNode pathNode, StringBuilder sb) {
+        if (pathNode != null && pathNode.obfuscator != null) {
+            appendMasked(node, pathNode.obfuscator, sb);
+            return sb.length() <= maxLength;
+        }
+        JsonNodeType nodeType = node.getNodeType();
+        if (nodeType == JsonNodeType.OBJECT) {
+            return appendObject(node, pathNode, sb);
+        }
+        if (nodeType == JsonNodeType.ARRAY) {
+            return appendArray(node, pathNode, sb);
+        }
+        // toString() renders scalars as valid JSON, including quotes and escapes for strings
+        sb.append(node.toString());
+        return sb.length() <= maxLength;
+    }
+
+    private boolean appendObject(JsonNode node, PathNode pathNode, StringBuilder sb) {
+        sb.append('{');
+        boolean first = true;
+        for (Map.Entry<String, JsonNode> property : node.properties()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            // Let a string node handle the quoting and escaping of the property name
+            sb.append(StringNode.valueOf(property.getKey()).toString()).append(':');
+            if (sb.length() > maxLength || !append(property.getValue(), child(pathNode, property.getKey()), sb)) {
+                return false;
+            }
+        }
+        sb.append('}');
+        return sb.length() <= maxLength;
+    }
+
+    private boolean appendArray(JsonNode node, PathNode pathNode, StringBuilder sb) {
+        sb.append('[');
+        for (int i = 0, size = node.size(); i < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            if (!append(node.get(i), child(pathNode, Integer.toString(i)), sb)) {
+                return false;
+            }
+        }
+        sb.append(']');
+        return sb.length() <= maxLength;
+    }
+
+    private void appendMasked(JsonNode node, Obfuscator obfuscator, StringBuilder sb) {
+        String text = node.getNodeType() == JsonNodeType.STRING ? node.stringValue() : node.toString();
+        sb.append('"');
+        obfuscator.obfuscateText(text, sb);
+        sb.append('"');
+    }
+
+    private static PathNode child(PathNode pathNode, String segment) {
+        if (pathNode == null) {
+            return null;
+        }
+        PathNode child = pathNode.children.get(segment);
+        return child != null ? child : pathNode.children.get(WILDCARD);
+    }
+
+    /**
+     * Returns a builder that will create {@code JsonNodeRepresentations}.
+     *
+     * @return A builder that will create {@code JsonNodeRepresentations}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static final class PathNode implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, PathNode> children;
+        // non-null if the value at this path should be masked
+        private Obfuscator obfuscator; // NOSONAR
+
+        private PathNode(Map<String, PathNode> children, Obfuscator obfuscator) {
+            this.children = children;
+            this.obfuscator = obfuscator;
+        }
+
+        private PathNode immutableCopy() {
+            if (children.isEmpty()) {
+                return new PathNode(Collections.emptyMap(), obfuscator);
+            }
+            Map<String, PathNode> copy = new HashMap<>();
+            children.forEach((segment, child) -> copy.put(segment, child.immutableCopy()));
+            return new PathNode(Collections.unmodifiableMap(copy), obfuscator);
+        }
+    }
+
+    /**
+     * A builder for {@link JsonNodeRepresentation JsonNodeRepresentations}.
+     *
+     * @author Rob Spoor
+     * @since 2.1
+     */
+    public static final class Builder {
+
+        private int maxLength = Integer.MAX_VALUE - TRUNCATED.length();
+        private final PathNode maskedPaths = new PathNode(new HashMap<>(), null);
+
+        private Builder() {
+            super();
+        }
+
+        /**
+         * Sets the maximum length of representations. If a node's representation would exceed this length, it is truncated to this length and
+         * {@code ...} is appended. The default is to not limit the length.
+         *
+         * @param maxLength The maximum length of representations.
+         * @return This object.
+         * @throws IllegalArgumentException If the given maximum length is negative.
+         */
+        @SuppressWarnings("nls")
+        public Builder withMaxLength(int maxLength) {
+            if (maxLength < 0) {
+                throw new IllegalArgumentException("maxLength must not be negative: " + maxLength);
+            }
+            this.maxLength = Math.min(maxLength, Integer.MAX_VALUE - TRUNCATED.length());
+            return this;
+        }
+
+        /**
+         * Sets a path of which the value should be masked. The path uses the same syntax as {@link tools.jackson.core.JsonPointer JsonPointer},
+         * for instance {@code /card/number} or {@code /cards/0/number}. In addition, {@code *} can be used as segment to match any property or
+         * array index, for instance {@code /cards/&#42;/number}.
+         * <p>
+         * The value at a masked path is obfuscated using the given obfuscator, and rendered as a JSON string. For objects and arrays, the JSON
+         * representation of the entire value is obfuscated.
+         *
+         * @param path The path of which the value should be masked.
+         * @param obfuscator The obfuscator to use for the value.
+         * @return This object.
+         * @throws NullPointerException If the given path or obfuscator is {@code null}.
+         * @throws IllegalArgumentException If the given path is not a valid path.
+         */
+        @SuppressWarnings("nls")
+        public Builder withMaskedPath(String path, Obfuscator obfuscator) {
+            Objects.requireNonNull(path);
+            Objects.requireNonNull(obfuscator);
+
+            if (!path.startsWith("/")) {
+                throw new IllegalArgumentException("Invalid path: " + path);
+            }
+
+            PathNode pathNode = maskedPaths;
+            for (String segment : path.substring(1).split("/", -1)) {
+                // unescape the same way as JsonPointer does
+                String unescaped = segment.replace("~1", "/").replace("~0", "~");
+                pathNode = pathNode.children.computeIfAbsent(unescaped, s -> new PathNode(new HashMap<>(), null));
+            }
+            pathNode.obfuscator = obfuscator;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link JsonNodeRepresentation} with the current settings of this builder.
+         *
+         * @return The created {@link JsonNodeRepresentation}.
+         */
+        public JsonNodeRepresentation build() {
+            return new JsonNodeRepresentation(this);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MaskedPropertySerializer.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationPlan.Resolution;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.jsontype.TypeSerializer;
+import tools.jackson.databind.ser.BeanPropertyWriter;
+import tools.jackson.databind.util.TokenBuffer;
+
+// Serializes List, Set, Collection and Map properties that are obfuscated during deserialization.
+// Values are serialized like they would be without this serializer, using the serializer for the property's declared type. Only for
+// DualOutputWriter the plain value is preceded by a marker with the obfuscated value.
+final class MaskedPropertySerializer extends ValueSerializer<Object> {
+
+    private final BeanPropertyWriter property;
+    // null to look up the serializer for the value's class
+    private final ValueSerializer<Object> serializer;
+    private final ObfuscationPlan plan;
+
+    // the serializer for the last value's class; most values of a property have the same class
+    private volatile DynamicSerializer dynamicSerializer;
+
+    MaskedPropertySerializer(BeanPropertyWriter property, ObfuscationPlan plan) {
+        this.property = property;
+        this.serializer = property.getSerializer();
+        this.plan = plan;
+    }
+
+    @Override
+    public boolean isEmpty(SerializationContext ctxt, Object value) {
+        if (value instanceof Collection<?> collection) {
+            return collection.isEmpty();
+        }
+        return value instanceof Map<?, ?> map ? map.isEmpty() : value == null;
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
+        // Serialize collections created by ObfuscatedDeserializer directly, instead of through their obfuscating views
+        Object plainValue = ObfuscatingCollections.unwrap(value);
+        markIfNeeded(plainValue, gen, ctxt);
+        serializer(plainValue, ctxt).serialize(plainValue, gen, ctxt);
+    }
+
+    @Override
+    public void serializeWithType(Object value, JsonGenerator gen, SerializationContext ctxt, TypeSerializer typeSer) throws JacksonException {
+        Object plainValue = ObfuscatingCollections.unwrap(value);
+        markIfNeeded(plainValue, gen, ctxt);
+        serializer(plainValue, ctxt).serializeWithType(plainValue, gen, ctxt, typeSer);
+    }
+
+    private void markIfNeeded(Object value, JsonGenerator gen, SerializationContext ctxt) {
+        if (gen instanceof TokenBuffer && DualOutputWriter.isEnabled(ctxt)) {
+            Resolution resolution = plan.resolution();
+            Obfuscator obfuscator = resolution.obfuscator(ctxt);
+            if (obfuscator != null) {
+                // Obfuscate the value again; values can be set without being deserialized first
+                gen.writeEmbeddedObject(DualOutputWriter.marker(obfuscate(value, obfuscator, resolution)));
+            }
+        }
+    }
+
+    private static Object obfuscate(Object value, Obfuscator obfuscator, Resolution resolution) {
+        CharacterRepresentationProvider characterRepresentationProvider = resolution.characterRepresentationProvider;
+        if (value instanceof List<?> list) {
+            // Lists created by PrimitiveLists are obfuscated without boxing their elements
+            return ObfuscatingCollections.list(list, obfuscator, characterRepresentationProvider::toCharSequence,
+                    resolution.defaultCharacterRepresentation);
+        }
+        if (value instanceof Set<?> set) {
+            return obfuscator.obfuscateSet(set, characterRepresentationProvider::toCharSequence);
+        }
+        if (value instanceof Collection<?> collection) {
+            return ObfuscatingCollections.collection(collection, obfuscator, characterRepresentationProvider::toCharSequence,
+                    resolution.defaultCharacterRepresentation);
+        }
+        return obfuscator.obfuscateMap((Map<?, ?>) value, characterRepresentationProvider::toCharSequence);
+    }
+
+    private ValueSerializer<Object> serializer(Object value, SerializationContext ctxt) {
+        if (serializer != null) {
+            return serializer;
+        }
+        Class<?> valueType = value.getClass();
+        DynamicSerializer dynamic = dynamicSerializer;
+        if (dynamic == null || dynamic.valueType() != valueType) {
+            // Like BeanPropertyWriter, specialize the declared type; the value's class alone would lose the element type, and with it
+            // polymorphic type ids and element serializers
+            JavaType type = ctxt.constructSpecializedType(property.getType(), valueType);
+            dynamic = new DynamicSerializer(valueType, ctxt.findPrimaryPropertySerializer(type, property));
+            dynamicSerializer = dynamic;
+        }
+        return dynamic.serializer();
+    }
+
+    private record DynamicSerializer(Class<?> valueType, ValueSerializer<Object> serializer) {
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * MaskingObfuscator.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+import com.github.robtimus.obfuscation.Obfuscator;
+
+/**
+ * An obfuscator that replaces characters with a mask character, optimized for long values.
+ * <p>
+ * Instead of handling text character by character, instances of this class copy the characters to keep and write the mask characters in bulk,
+ * using {@link String#getChars(int, int, char[], int)}, {@link Arrays#fill(char[], int, int, char)} and appends of precomputed blocks of mask
+ * characters. For long values like tokens and free text this is considerably cheaper. The results are the same as those of the equivalent
+ * obfuscators of {@link Obfuscator}:
+ * <ul>
+ * <li>{@link #all(char)} is equivalent to {@link Obfuscator#all(char)}.</li>
+ * <li>{@link #portion(int, int, char)} is equivalent to {@code Obfuscator.portion().keepAtStart(keepAtStart).keepAtEnd(keepAtEnd)
+ *     .withMaskChar(maskChar).build()}.</li>
+ * </ul>
+ * Instances can be used as default obfuscator, for instance using {@link ObfuscationModule.Builder#withDefaultObfuscator(Class, Obfuscator)}:
+ * <pre><code>
+ * ObfuscationModule module = ObfuscationModule.builder()
+ *         .withDefaultObfuscator(String.class, MaskingObfuscator.portion(0, 4, '*'))
+ *         .build();
+ * </code></pre>
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author Rob Spoor
+ * @since 2.1
+ */
+public final class MaskingObfuscator extends Obfuscator {
+
+    private static final int MASK_BLOCK_SIZE = 1024;
+
+    private final int keepAtStart;
+    private final int keepAtEnd;
+    private final char maskChar;
+
+    // Appended in chunks, so no mask character needs to be appended on its own
+    private final String maskBlock;
+
+    private MaskingObfuscator(int keepAtStart, int keepAtEnd, char maskChar) {
+        this.keepAtStart = keepAtStart;
+        this.keepAtEnd = keepAtEnd;
+        this.maskChar = maskChar;
+
+        char[] mask = new char[MASK_BLOCK_SIZE];
+        Arrays.fill(mask, maskChar);
+        this.maskBlock = new String(mask);
+    }
+
+    /**
+     * Returns an obfuscator that replaces all characters with a mask character.
+     *
+     * @param maskChar The character to replace with.
+     * @return An obfuscator that replaces all characters with the given mask character.
+     */
+    public static MaskingObfuscator all(char maskChar) {
+        return new MaskingObfuscator(0, 0, maskChar);
+    }
+
+    /**
+     * Returns an obfuscator that replaces all characters with a mask character, except for a number of characters at the start and end.
+     * If a text is too short, characters at the start take precedence over characters at the end.
+     *
+     * @param keepAtStart The number of characters at the start to keep.
+     * @param keepAtEnd The number of characters at the end to keep.
+     * @param maskChar The character to replace with.
+     * @return An obfuscator that replaces all characters with the given mask character, except for the given number of characters at the start
+     *         and end.
+     * @throws IllegalArgumentException If the number of characters to keep at the start or end is negative.
+     */
+    @SuppressWarnings("nls")
+    public static MaskingObfuscator portion(int keepAtStart, int keepAtEnd, char maskChar) {
+        if (keepAtStart < 0) {
+            throw new IllegalArgumentException("keepAtStart must not be negative: " + keepAtStart);
+        }
+        if (keepAtEnd < 0) {
+            throw new IllegalArgumentException("keepAtEnd must not be negative: " + keepAtEnd);
+        }
+        return new MaskingObfuscator(keepAtStart, keepAtEnd, maskChar);
+    }
+
+    @Override
+    public CharSequence obfuscateText(CharSequence s, int start, int end) {
+        checkIndexes(s, start, end);
+        int length = end - start;
+        int fromStart = Math.min(keepAtStart, length);
+        int fromEnd = Math.min(keepAtEnd, length - fromStart);
+
+        char[] result = new char[length];
+        copyChars(s, start, start + fromStart, result, 0);
+        Arrays.fill(result, fromStart, length - fromEnd, maskChar);
+        copyChars(s, end - fromEnd, end, result, length - fromEnd);
+        return new String(result);
+    }
+
+    private static void copyChars(CharSequence s, int start, int end, char[] destination, int offset) {
+        if (s instanceof String string) {
+            string.getChars(start, end, destination, offset);
+        } else if (s instanceof StringBuilder sb) {
+            sb.getChars(start, end, destination, offset);
+        } else {
+            for (int i = start, j = offset; i < end; i++, j++) {
+                destination[j] = s.charAt(i);
+            }
+        }
+    }
+
+    @Override
+    public void obfuscateText(CharSequence s, int start, int end, StringBuilder destination) {
+        checkIndexes(s, start, end);
+        destination.ensureCapacity(destination.length() + end - start);
+        appendObfuscated(s, start, end, destination);
+    }
+
+    @Override
+    public void obfuscateText(CharSequence s, int start, int end, Appendable destination) throws IOException {
+        checkIndexes(s, start, end);
+        appendObfuscated(s, start, end, destination);
+    }
+
+    @Override
+    public void obfuscateText(Reader input, Appendable destination) throws IOException {
+        try (Writer writer = streamTo(destination)) {
+            char[] buffer = new char[MASK_BLOCK_SIZE];
+            int len;
+            while ((len = input.read(buffer)) != -1) {
+                writer.write(buffer, 0, len);
+            }
+        }
+    }
+
+    @Override
+    public Writer streamTo(Appendable destination) {
+        Objects.requireNonNull(destination);
+        return keepAtEnd == 0 ? new StreamingWriter(destination) : new BufferingWriter(destination);
+    }
+
+    private void appendObfuscated(CharSequence s, int start, int end, Appendable destination) throws IOException {
+        int length = end - start;
+        int fromStart = Math.min(keepAtStart, length);
+        int fromEnd = Math.min(keepAtEnd, length - fromStart);
+
+        destination.append(s, start, start + fromStart);
+        appendMask(length - fromStart - fromEnd, destination);
+        destination.append(s, end - fromEnd, end);
+    }
+
+    private void appendObfuscated(CharSequence s, int start, int end, StringBuilder destination) {
+        try {
+            appendObfuscated(s, start, end, (Appendable) destination);
+        } catch (IOException e) {
+            // StringBuilder doesn't throw IOExceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void appendMask(int count, Appendable destination) throws IOException {
+        int remaining = count;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, MASK_BLOCK_SIZE);
+            destination.append(maskBlock, 0, chunk);
+            remaining -= chunk;
+        }
+    }
+
+    private static void checkIndexes(CharSequence s, int start, int end) {
+        Objects.checkFromToIndex(start, end, s.length());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+        MaskingObfuscator other = (MaskingObfuscator) o;
+        return keepAtStart == other.keepAtStart && keepAtEnd == other.keepAtEnd && maskChar == other.maskChar;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(keepAtStart, keepAtEnd, maskChar);
+    }
+
+    @Override
+    @SuppressWarnings("nls")
+    public String toString() {
+        return getClass().getName() + "[keepAtStart=" + keepAtStart + ",keepAtEnd=" + keepAtEnd + ",maskChar=" + maskChar + "]";
+    }
+
+    // Writes characters as they are written, if no characters need to be kept at the end
+    private final class StreamingWriter extends Writer {
+
+        private final Appendable destination;
+        private int written = 0;
+        private boolean closed = false;
+
+        private StreamingWriter(Appendable destination) {
+            this.destination = destination;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            ensureOpen();
+            Objects.checkFromIndexSize(off, len, cbuf.length);
+            int toKeep = Math.max(0, Math.min(keepAtStart - written, len));
+            for (int i = off; i < off + toKeep; i++) {
+                destination.append(cbuf[i]);
+            }
+            appendMask(len - toKeep, destination);
+            written = (int) Math.min(Integer.MAX_VALUE, (long) written + len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            if (destination instanceof Writer writer) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+        }
+
+        @SuppressWarnings("nls")
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+
+    // Buffers all characters until closed, because the characters to keep at the end are only known then
+    private final class BufferingWriter extends Writer {
+
+        private final Appendable destination;
+        private final StringBuilder text = new StringBuilder();
+        private boolean closed = false;
+
+        private BufferingWriter(Appendable destination) {
+            this.destination = destination;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            ensureOpen();
+            text.append(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                appendObfuscated(text, 0, text.length(), destination);
+            }
+        }
+
+        @SuppressWarnings("nls")
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+}
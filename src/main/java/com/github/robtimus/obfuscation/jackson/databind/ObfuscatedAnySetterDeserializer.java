@@ -0,0 +1,51 @@
+/*
+ * ObfuscatedAnySetterDeserializer.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.Map;
+import com.github.robtimus.obfuscation.Obfuscator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ValueDeserializer;
+
+// Deserializes the values of an any setter, obfuscating those of which the name matches a configured dynamic property
+final class ObfuscatedAnySetterDeserializer extends ValueDeserializer<Object> {
+
+    private final BeanProperty property;
+    private final JavaType valueType;
+    private final Map<String, Obfuscator> obfuscators;
+
+    ObfuscatedAnySetterDeserializer(BeanProperty property, JavaType valueType, Map<String, Obfuscator> obfuscators) {
+        this.property = property;
+        this.valueType = valueType;
+        this.obfuscators = obfuscators;
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) {
+        // The parser is positioned at the value, so its current name is the name of the dynamic property
+        String name = p.currentName();
+
+        Object value = ctxt.findContextualValueDeserializer(valueType, property).deserialize(p, ctxt);
+
+        Obfuscator obfuscator = name != null ? obfuscators.get(name) : null;
+        return obfuscator != null ? obfuscator.obfuscateObject(value) : value;
+    }
+}
@@ -24,61 +24,35 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
 import com.github.robtimus.obfuscation.Obfuscated;
 import com.github.robtimus.obfuscation.Obfuscator;
-import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
 import com.github.robtimus.obfuscation.annotation.ObjectFactory;
 import tools.jackson.databind.BeanDescription.Supplier;
 import tools.jackson.databind.BeanProperty;
 import tools.jackson.databind.DeserializationConfig;
 import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.cfg.MapperConfig;
+import tools.jackson.databind.cfg.MapperConfigBase;
 import tools.jackson.databind.deser.BeanDeserializerBuilder;
+import tools.jackson.databind.deser.SettableAnyProperty;
 import tools.jackson.databind.deser.SettableBeanProperty;
 import tools.jackson.databind.deser.ValueDeserializerModifier;
-import tools.jackson.databind.deser.ValueInstantiator;
 import tools.jackson.databind.util.ClassUtil;
 
 final class ObfuscatedBeanDeserializerModifier extends ValueDeserializerModifier {
 
-    // Note: instances are most likely not serializable, because ObjectFactory, Obfuscator and CharacterRepresentationProvider instances are very
-    // unlikely to be so. This may cause issues if ObjectMapper instances are serialized.
+    // Note: instances are only serializable if the module is.
+    // The default object factories are not stored but selected based on the DeserializationConfig.
     private static final long serialVersionUID = 1L;
 
     private static final ObjectFactory CAN_OVERRIDE_ACCESS_MODIFIERS = ObfuscatedBeanDeserializerModifier::createInstanceWithCanFixAccess;
     private static final ObjectFactory CANNOT_OVERRIDE_ACCESS_MODIFIERS = ObfuscatedBeanDeserializerModifier::createInstanceWithoutCanFixAccess;
-    private static final Function<DeserializationConfig, ObjectFactory> FACTORY_MAPPER = config -> config.canOverrideAccessModifiers()
-            ? CAN_OVERRIDE_ACCESS_MODIFIERS
-            : CANNOT_OVERRIDE_ACCESS_MODIFIERS;
 
-    private final Function<DeserializationConfig, ObjectFactory> factoryMapper; // NOSONAR
-    private final Obfuscator defaultObfuscator; // NOSONAR
+    // The module provides the settings, which can change if the module is reloadable, and the cache of obfuscation plans
+    private final ObfuscationModule module;
 
-    private final Map<Class<?>, Obfuscator> classObfuscators; // NOSONAR
-    private final Map<Class<?>, Obfuscator> interfaceObfuscators; // NOSONAR
-
-    private final Map<Class<?>, CharacterRepresentationProvider> classCharacterRepresentationProviders; // NOSONAR
-    private final Map<Class<?>, CharacterRepresentationProvider> interfaceCharacterRepresentationProviders; // NOSONAR
-
-    private final boolean requireObfuscatorAnnotation;
-
-    ObfuscatedBeanDeserializerModifier(ObjectFactory objectFactory,
-            Obfuscator defaultObfuscator,
-            Map<Class<?>, Obfuscator> classObfuscators,
-            Map<Class<?>, Obfuscator> interfaceObfuscators,
-            Map<Class<?>, CharacterRepresentationProvider> classCharacterRepresentationProviders,
-            Map<Class<?>, CharacterRepresentationProvider> interfaceCharacterRepresentationProviders,
-            boolean requireObfuscatorAnnotation) {
-
-        this.factoryMapper = objectFactory != null ? config -> objectFactory : FACTORY_MAPPER;
-        this.defaultObfuscator = defaultObfuscator;
-
-        this.classObfuscators = classObfuscators;
-        this.interfaceObfuscators = interfaceObfuscators;
-        this.classCharacterRepresentationProviders = classCharacterRepresentationProviders;
-        this.interfaceCharacterRepresentationProviders = interfaceCharacterRepresentationProviders;
-
-        this.requireObfuscatorAnnotation = requireObfuscatorAnnotation;
+    ObfuscatedBeanDeserializerModifier(ObfuscationModule module) {
+        this.module = module;
     }
 
     private static <T> T createInstanceWithCanFixAccess(Class<T> type) {
@@ -89,183 +63,167 @@ final class ObfuscatedBeanDeserializerModifier extends ValueDeserializerModifier
         return ClassUtil.createInstance(type, false);
     }
 
+    // Also used by ObfuscatedBeanSerializerModifier
+    static ObjectFactory objectFactory(ObfuscationModule module, MapperConfig<?> config) {
+        ObjectFactory customObjectFactory = module.objectFactory();
+        if (customObjectFactory != null) {
+            return customObjectFactory;
+        }
+        return config.canOverrideAccessModifiers()
+                ? CAN_OVERRIDE_ACCESS_MODIFIERS
+                : CANNOT_OVERRIDE_ACCESS_MODIFIERS;
+    }
+
     @Override
     public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, Supplier beanDescRef, BeanDeserializerBuilder builder) {
         BeanDeserializerBuilder updatedBuilder = super.updateBuilder(config, beanDescRef, builder);
-        Map<String, SettableBeanProperty> propertyReplacements = new LinkedHashMap<>();
 
-        ValueInstantiator valueInstantiator = updatedBuilder.getValueInstantiator();
-        SettableBeanProperty[] constructorArguments = valueInstantiator.getFromObjectArguments(config);
+        // Most beans don't have any properties to obfuscate, so everything that's only needed for replacements is created lazily.
+        // This keeps the cost for these beans limited to one type check per property.
+        Class<?> beanType = null;
+        Map<SettableBeanProperty, SettableBeanProperty> propertyReplacements = null;
 
         for (Iterator<SettableBeanProperty> i = updatedBuilder.getProperties(); i.hasNext(); ) {
             SettableBeanProperty property = i.next();
             Class<?> rawPropertyType = property.getType().getRawClass();
 
-            // These if-statements check for exact interface declarations, so the obfuscating replacement will have a compatible type
+            if (isObfuscationCandidate(rawPropertyType)) {
+                if (beanType == null) {
+                    beanType = beanDescRef.getType().getRawClass();
+                }
+                Optional<ValueDeserializer<Object>> newDeserializer = createDeserializer(config, beanType, property, rawPropertyType);
+                if (newDeserializer.isPresent()) {
+                    if (propertyReplacements == null) {
+                        propertyReplacements = new LinkedHashMap<>();
+                    }
+                    propertyReplacements.put(property, property.withValueDeserializer(newDeserializer.get()));
+                }
+            }
+        }
+        replaceAnySetter(updatedBuilder);
 
-            if (rawPropertyType == Obfuscated.class) {
-                ValueDeserializer<Object> newDeserializer = createDeserializerForObfuscated(config, property);
-                replaceProperty(property, newDeserializer, propertyReplacements, constructorArguments);
+        if (propertyReplacements != null) {
+            SettableBeanProperty[] constructorArguments = updatedBuilder.getValueInstantiator().getFromObjectArguments(config);
+            for (Map.Entry<SettableBeanProperty, SettableBeanProperty> entry : propertyReplacements.entrySet()) {
+                updatedBuilder.addOrReplaceProperty(entry.getValue(), true);
+                replaceProperty(constructorArguments, entry.getKey(), entry.getValue());
+            }
+        }
+        return updatedBuilder;
+    }
 
-            } else if (rawPropertyType == List.class) {
-                createDeserializerForList(config, property)
-                        .ifPresent(newDeserializer -> replaceProperty(property, newDeserializer, propertyReplacements, constructorArguments));
+    private void replaceAnySetter(BeanDeserializerBuilder builder) {
+        Map<String, Obfuscator> dynamicPropertyObfuscators = module.dynamicPropertyObfuscators();
+        SettableAnyProperty anySetter = builder.getAnySetter();
+        // Only any setters that accept Object values can accept Obfuscated values.
+        // A custom value deserializer cannot be wrapped, as it's not accessible.
+        if (!dynamicPropertyObfuscators.isEmpty() && anySetter != null && !anySetter.hasValueDeserializer()
+                && anySetter.getType().getRawClass() == Object.class) {
+
+            ValueDeserializer<Object> newDeserializer = new ObfuscatedAnySetterDeserializer(anySetter.getProperty(), anySetter.getType(),
+                    dynamicPropertyObfuscators);
+            builder.setAnySetter(anySetter.withValueDeserializer(newDeserializer));
+        }
+    }
 
-            } else if (rawPropertyType == Set.class) {
-                createDeserializerForSet(config, property)
-                        .ifPresent(newDeserializer -> replaceProperty(property, newDeserializer, propertyReplacements, constructorArguments));
+    static boolean isObfuscationCandidate(Class<?> rawPropertyType) {
+        // These checks are for exact interface declarations, so the obfuscating replacement will have a compatible type
+        return rawPropertyType == Obfuscated.class
+                || rawPropertyType == List.class
+                || rawPropertyType == Set.class
+                || rawPropertyType == Collection.class
+                || rawPropertyType == Map.class;
+    }
 
-            } else if (rawPropertyType == Collection.class) {
-                createDeserializerForCollection(config, property)
-                        .ifPresent(newDeserializer -> replaceProperty(property, newDeserializer, propertyReplacements, constructorArguments));
+    private Optional<ValueDeserializer<Object>> createDeserializer(DeserializationConfig config, Class<?> beanType, SettableBeanProperty property,
+            Class<?> rawPropertyType) {
 
-            } else if (rawPropertyType == Map.class) {
-                createDeserializerForMap(config, property)
-                        .ifPresent(newDeserializer -> replaceProperty(property, newDeserializer, propertyReplacements, constructorArguments));
-            }
+        if (rawPropertyType == Obfuscated.class) {
+            return createDeserializerForObfuscated(config, beanType, property);
         }
-        for (SettableBeanProperty property : propertyReplacements.values()) {
-            updatedBuilder.addOrReplaceProperty(property, true);
+        if (rawPropertyType == List.class) {
+            return createDeserializerForList(config, beanType, property);
         }
-        return updatedBuilder;
+        if (rawPropertyType == Set.class) {
+            return createDeserializerForSet(config, beanType, property);
+        }
+        if (rawPropertyType == Collection.class) {
+            return createDeserializerForCollection(config, beanType, property);
+        }
+        return createDeserializerForMap(config, beanType, property);
     }
 
     // Obfuscated
 
-    private ValueDeserializer<Object> createDeserializerForObfuscated(DeserializationConfig config, SettableBeanProperty property) {
-        ObjectFactory objectFactory = factoryMapper.apply(config);
-        Optional<Obfuscator> optionalObfuscator = objectFactory.obfuscator(property::getAnnotation);
-        if (!optionalObfuscator.isPresent()) {
-            // property.getType() is Obfuscated<T>, so this returns the actual T
-            Class<?> type = property.getType().getBindings().getBoundType(0).getRawClass();
-            optionalObfuscator = findClassSpecificObfuscator(type, objectFactory);
-        }
-        Obfuscator obfuscator = optionalObfuscator.orElse(defaultObfuscator);
-        return createDeserializerForObfuscated(property, obfuscator, objectFactory);
-    }
-
-    private ValueDeserializer<Object> createDeserializerForObfuscated(SettableBeanProperty property, Obfuscator obfuscator,
-            ObjectFactory objectFactory) {
+    private Optional<ValueDeserializer<Object>> createDeserializerForObfuscated(DeserializationConfig config, Class<?> beanType,
+            SettableBeanProperty property) {
 
-        ValueDeserializer<Object> deserializer = property.getValueDeserializer();
         // property.getType() is Obfuscated<T>, so index 0 is T
-        CharacterRepresentationProvider characterRepresentationProvider = getCharacterRepresentationProvider(property, 0, objectFactory);
-        return new ObfuscatedDeserializer.ForObfuscated(property, deserializer, obfuscator, characterRepresentationProvider);
+        // With the default obfuscator as fallback, there is always a plan
+        return createPlan(config, beanType, property, 0, true)
+                .map(plan -> new ObfuscatedDeserializer.ForObfuscated(property, property.getValueDeserializer(), plan));
     }
 
     // List
 
-    private Optional<ValueDeserializer<Object>> createDeserializerForList(DeserializationConfig config, SettableBeanProperty property) {
-        ObjectFactory objectFactory = factoryMapper.apply(config);
-        Optional<Obfuscator> optionalObfuscator = objectFactory.obfuscator(property::getAnnotation);
-        if (!optionalObfuscator.isPresent() && !requireObfuscatorAnnotation) {
-            // property.getType() is List<T>, so this returns the actual T
-            Class<?> type = property.getType().getBindings().getBoundType(0).getRawClass();
-            optionalObfuscator = findClassSpecificObfuscator(type, objectFactory);
-        }
-        return optionalObfuscator.map(obfuscator -> createDeserializerForList(property, obfuscator, objectFactory));
-    }
+    private Optional<ValueDeserializer<Object>> createDeserializerForList(DeserializationConfig config, Class<?> beanType,
+            SettableBeanProperty property) {
 
-    private ValueDeserializer<Object> createDeserializerForList(SettableBeanProperty property, Obfuscator obfuscator, ObjectFactory objectFactory) {
-        ValueDeserializer<Object> deserializer = property.getValueDeserializer();
         // property.getType() is List<T>, so index 0 is T
-        CharacterRepresentationProvider characterRepresentationProvider = getCharacterRepresentationProvider(property, 0, objectFactory);
-        return new ObfuscatedDeserializer.ForList(property, deserializer, obfuscator, characterRepresentationProvider);
+        return createPlan(config, beanType, property, 0, false)
+                .map(plan -> new ObfuscatedDeserializer.ForList(property, property.getValueDeserializer(), plan));
     }
 
     // Set
 
-    private Optional<ValueDeserializer<Object>> createDeserializerForSet(DeserializationConfig config, SettableBeanProperty property) {
-        ObjectFactory objectFactory = factoryMapper.apply(config);
-        Optional<Obfuscator> optionalObfuscator = objectFactory.obfuscator(property::getAnnotation);
-        if (!optionalObfuscator.isPresent() && !requireObfuscatorAnnotation) {
-            // property.getType() is Set<T>, so this returns the actual T
-            Class<?> type = property.getType().getBindings().getBoundType(0).getRawClass();
-            optionalObfuscator = findClassSpecificObfuscator(type, objectFactory);
-        }
-        return optionalObfuscator.map(obfuscator -> createDeserializerForSet(property, obfuscator, objectFactory));
-    }
+    private Optional<ValueDeserializer<Object>> createDeserializerForSet(DeserializationConfig config, Class<?> beanType,
+            SettableBeanProperty property) {
 
-    private ValueDeserializer<Object> createDeserializerForSet(SettableBeanProperty property, Obfuscator obfuscator, ObjectFactory objectFactory) {
-        ValueDeserializer<Object> deserializer = property.getValueDeserializer();
         // property.getType() is Set<T>, so index 0 is T
-        CharacterRepresentationProvider characterRepresentationProvider = getCharacterRepresentationProvider(property, 0, objectFactory);
-        return new ObfuscatedDeserializer.ForSet(property, deserializer, obfuscator, characterRepresentationProvider);
+        return createPlan(config, beanType, property, 0, false)
+                .map(plan -> new ObfuscatedDeserializer.ForSet(property, property.getValueDeserializer(), plan));
     }
 
     // Collection
 
-    private Optional<ValueDeserializer<Object>> createDeserializerForCollection(DeserializationConfig config, SettableBeanProperty property) {
-        ObjectFactory objectFactory = factoryMapper.apply(config);
-        Optional<Obfuscator> optionalObfuscator = objectFactory.obfuscator(property::getAnnotation);
-        if (!optionalObfuscator.isPresent() && !requireObfuscatorAnnotation) {
-            // property.getType() is Collection<T>, so this returns the actual T
-            Class<?> type = property.getType().getBindings().getBoundType(0).getRawClass();
-            optionalObfuscator = findClassSpecificObfuscator(type, objectFactory);
-        }
-        return optionalObfuscator.map(obfuscator -> createDeserializerForCollection(property, obfuscator, objectFactory));
-    }
-
-    private ValueDeserializer<Object> createDeserializerForCollection(SettableBeanProperty property, Obfuscator obfuscator,
-            ObjectFactory objectFactory) {
+    private Optional<ValueDeserializer<Object>> createDeserializerForCollection(DeserializationConfig config, Class<?> beanType,
+            SettableBeanProperty property) {
 
-        ValueDeserializer<Object> deserializer = property.getValueDeserializer();
         // property.getType() is Collection<T>, so index 0 is T
-        CharacterRepresentationProvider characterRepresentationProvider = getCharacterRepresentationProvider(property, 0, objectFactory);
-        return new ObfuscatedDeserializer.ForCollection(property, deserializer, obfuscator, characterRepresentationProvider);
+        return createPlan(config, beanType, property, 0, false)
+                .map(plan -> new ObfuscatedDeserializer.ForCollection(property, property.getValueDeserializer(), plan));
     }
 
     // Map
 
-    private Optional<ValueDeserializer<Object>> createDeserializerForMap(DeserializationConfig config, SettableBeanProperty property) {
-        ObjectFactory objectFactory = factoryMapper.apply(config);
-        Optional<Obfuscator> optionalObfuscator = objectFactory.obfuscator(property::getAnnotation);
-        if (!optionalObfuscator.isPresent() && !requireObfuscatorAnnotation) {
-            // property.getType() is Map<K, V>, so this returns the actual V
-            Class<?> type = property.getType().getBindings().getBoundType(1).getRawClass();
-            optionalObfuscator = findClassSpecificObfuscator(type, objectFactory);
-        }
-        return optionalObfuscator.map(obfuscator -> createDeserializerForMap(property, obfuscator, objectFactory));
-    }
+    private Optional<ValueDeserializer<Object>> createDeserializerForMap(DeserializationConfig config, Class<?> beanType,
+            SettableBeanProperty property) {
 
-    private ValueDeserializer<Object> createDeserializerForMap(SettableBeanProperty property, Obfuscator obfuscator, ObjectFactory objectFactory) {
-        ValueDeserializer<Object> deserializer = property.getValueDeserializer();
         // property.getType() is Map<K, V>, so index 1 is V
-        CharacterRepresentationProvider characterRepresentationProvider = getCharacterRepresentationProvider(property, 1, objectFactory);
-        return new ObfuscatedDeserializer.ForMap(property, deserializer, obfuscator, characterRepresentationProvider);
+        return createPlan(config, beanType, property, 1, false)
+                .map(plan -> new ObfuscatedDeserializer.ForMap(property, property.getValueDeserializer(), plan));
     }
 
     // shared
 
-    private Optional<Obfuscator> findClassSpecificObfuscator(Class<?> type, ObjectFactory objectFactory) {
-        Obfuscator obfuscator = findClassSpecificObject(type, classObfuscators, interfaceObfuscators);
-        return obfuscator != null ? Optional.of(obfuscator) : objectFactory.obfuscator(type::getAnnotation);
-    }
+    private Optional<ObfuscationPlan> createPlan(DeserializationConfig config, Class<?> beanType, SettableBeanProperty property, int typeIndex,
+            boolean useDefaultObfuscator) {
 
-    private CharacterRepresentationProvider getCharacterRepresentationProvider(BeanProperty property, int subTypeIndex, ObjectFactory objectFactory) {
-        Optional<CharacterRepresentationProvider> optionalProvider = objectFactory.characterRepresentationProvider(property::getAnnotation);
-        if (optionalProvider.isPresent()) {
-            return optionalProvider.get();
-        }
-
-        Class<?> type = property.getType().getBindings().getBoundType(subTypeIndex).getRawClass();
-        optionalProvider = findClassSpecificCharacterRepresentationProvider(type, objectFactory);
-        return optionalProvider.orElseGet(() -> CharacterRepresentationProvider.getDefaultInstance(type));
+        return createPlan(module, config, beanType, property, typeIndex, useDefaultObfuscator);
     }
 
-    private Optional<CharacterRepresentationProvider> findClassSpecificCharacterRepresentationProvider(Class<?> type, ObjectFactory objectFactory) {
-        CharacterRepresentationProvider provider = findClassSpecificObject(type, classCharacterRepresentationProviders,
-                interfaceCharacterRepresentationProviders);
-
-        return provider != null ? Optional.of(provider) : objectFactory.characterRepresentationProvider(type::getAnnotation);
-    }
-
-    private void replaceProperty(SettableBeanProperty property, ValueDeserializer<Object> newDeserializer,
-            Map<String, SettableBeanProperty> propertyReplacements, SettableBeanProperty[] constructorArguments) {
-
-        SettableBeanProperty replacement = property.withValueDeserializer(newDeserializer);
-        propertyReplacements.put(property.getName(), replacement);
-        replaceProperty(constructorArguments, property, replacement);
+    // Also used by ObfuscatedBeanSerializerModifier
+    static Optional<ObfuscationPlan> createPlan(ObfuscationModule module, MapperConfigBase<?, ?> config, Class<?> beanType, BeanProperty property,
+            int typeIndex, boolean useDefaultObfuscator) {
+
+        ObjectFactory objectFactory = objectFactory(module, config);
+        ObfuscationPlanCache planCache = module.planCache();
+        return planCache.plan(config, objectFactory, beanType, property, () -> {
+            Class<?> type = property.getType().getBindings().getBoundType(typeIndex).getRawClass();
+            TypeAnnotationCache typeAnnotationCache = planCache.typeAnnotationCache(objectFactory);
+            ObfuscationPlan plan = new ObfuscationPlan(module, typeAnnotationCache, beanType, property, type, useDefaultObfuscator);
+            return plan.isApplicable() ? Optional.of(plan) : Optional.empty();
+        });
     }
 
     private void replaceProperty(SettableBeanProperty[] constructorArguments, SettableBeanProperty property, SettableBeanProperty replacement) {
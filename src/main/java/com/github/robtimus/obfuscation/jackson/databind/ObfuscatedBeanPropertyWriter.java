@@ -21,8 +21,14 @@ import tools.jackson.databind.ser.BeanPropertyWriter;
 
 final class ObfuscatedBeanPropertyWriter extends BeanPropertyWriter {
 
-    ObfuscatedBeanPropertyWriter(BeanPropertyWriter base) {
+    ObfuscatedBeanPropertyWriter(Class<?> beanType, BeanPropertyWriter base, ObfuscationModule module) {
         super(base);
-        _serializer = new ObfuscatedSerializer(base, base.getSerializer());
+        _serializer = ObfuscatedSerializer.forProperty(beanType, base, module);
+    }
+
+    // For List, Set, Collection and Map properties
+    ObfuscatedBeanPropertyWriter(BeanPropertyWriter base, ObfuscationPlan plan) {
+        super(base);
+        _serializer = new MaskedPropertySerializer(base, plan);
     }
 }
@@ -19,6 +19,7 @@ package com.github.robtimus.obfuscation.jackson.databind;
 
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import com.github.robtimus.obfuscation.Obfuscated;
 import tools.jackson.databind.BeanDescription.Supplier;
 import tools.jackson.databind.SerializationConfig;
@@ -27,15 +28,36 @@ import tools.jackson.databind.ser.ValueSerializerModifier;
 
 final class ObfuscatedBeanSerializerModifier extends ValueSerializerModifier {
 
+    // Note: instances are only serializable if the module is.
     private static final long serialVersionUID = 1L;
 
+    private final ObfuscationModule module;
+
+    ObfuscatedBeanSerializerModifier(ObfuscationModule module) {
+        this.module = module;
+    }
+
     @Override
     public List<BeanPropertyWriter> changeProperties(SerializationConfig config, Supplier beanDesc, List<BeanPropertyWriter> beanProperties) {
         List<BeanPropertyWriter> properties = super.changeProperties(config, beanDesc, beanProperties);
+        // Most beans don't have any Obfuscated properties, so only determine the bean type when needed
+        Class<?> beanType = null;
         for (ListIterator<BeanPropertyWriter> i = properties.listIterator(); i.hasNext(); ) {
             BeanPropertyWriter property = i.next();
-            if (property.getType().getRawClass() == Obfuscated.class) {
-                i.set(new ObfuscatedBeanPropertyWriter(property));
+            Class<?> rawPropertyType = property.getType().getRawClass();
+            if (rawPropertyType == Obfuscated.class) {
+                if (beanType == null) {
+                    beanType = beanDesc.getType().getRawClass();
+                }
+                i.set(new ObfuscatedBeanPropertyWriter(beanType, property, module));
+            } else if (ObfuscatedBeanDeserializerModifier.isObfuscationCandidate(rawPropertyType)) {
+                if (beanType == null) {
+                    beanType = beanDesc.getType().getRawClass();
+                }
+                // Only properties that are obfuscated during deserialization need to be masked by DualOutputWriter
+                int typeIndex = rawPropertyType == Map.class ? 1 : 0;
+                ObfuscatedBeanDeserializerModifier.createPlan(module, config, beanType, property, typeIndex, false)
+                        .ifPresent(plan -> i.set(new ObfuscatedBeanPropertyWriter(property, plan)));
             }
         }
         return properties;
@@ -21,53 +21,137 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import com.github.robtimus.obfuscation.Obfuscated;
 import com.github.robtimus.obfuscation.Obfuscator;
 import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationPlan.Resolution;
 import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.BeanProperty;
 import tools.jackson.databind.DeserializationContext;
 import tools.jackson.databind.JavaType;
 import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.util.TokenBuffer;
 
 abstract class ObfuscatedDeserializer extends ValueDeserializer<Object> {
 
     final BeanProperty property;
     private final ValueDeserializer<Object> deserializer;
-    private final JavaType valueType;
-    final Obfuscator obfuscator;
-    final CharacterRepresentationProvider characterRepresentationProvider;
+    final JavaType valueType;
+    final ObfuscationPlan plan;
+    // null if values are not read into lists that are backed by primitive arrays
+    private final PrimitiveLists.Reader primitiveListReader;
 
-    ObfuscatedDeserializer(BeanProperty property, ValueDeserializer<Object> serializer, Obfuscator obfuscator,
-            CharacterRepresentationProvider characterRepresentationProvider) {
+    ObfuscatedDeserializer(BeanProperty property, ValueDeserializer<Object> serializer, ObfuscationPlan plan) {
+        this(property, serializer, plan, false);
+    }
 
+    ObfuscatedDeserializer(BeanProperty property, ValueDeserializer<Object> serializer, ObfuscationPlan plan, boolean allowPrimitiveLists) {
         this.property = property;
         this.deserializer = serializer;
-        this.obfuscator = obfuscator;
-        this.characterRepresentationProvider = characterRepresentationProvider;
+        this.plan = plan;
+        // Custom deserializers may not return lists at all
+        this.primitiveListReader = allowPrimitiveLists && serializer == null ? plan.primitiveListReader() : null;
 
         valueType = extractJavaType();
     }
 
     @Override
     public Object deserialize(JsonParser p, DeserializationContext ctxt) {
+        Object value = deserializeValue(limitSize(p, ctxt), ctxt);
+        Resolution resolution = plan.resolution();
+        Obfuscator obfuscator = obfuscator(resolution, value, ctxt);
+        if (obfuscator == null) {
+            return value;
+        }
+        return obfuscateValue(value, obfuscator, resolution);
+    }
+
+    final Object deserializeValue(JsonParser p, DeserializationContext ctxt) {
+        if (primitiveListReader != null && p.isExpectedStartArrayToken()) {
+            return primitiveListReader.read(p, ctxt, property);
+        }
         ValueDeserializer<Object> actualDeserializer = deserializer != null
                 ? deserializer
                 : ctxt.findContextualValueDeserializer(valueType, property);
 
-        Object value = actualDeserializer.deserialize(p, ctxt);
-        return obfuscateValue(value);
+        return actualDeserializer.deserialize(p, ctxt);
+    }
+
+    final JsonParser limitSize(JsonParser p, DeserializationContext ctxt) {
+        SizeLimits sizeLimits = plan.sizeLimits();
+        return sizeLimits != null ? sizeLimits.apply(p, property, ctxt) : p;
+    }
+
+    final Obfuscator obfuscator(Resolution resolution, Object value, DeserializationContext ctxt) {
+        Obfuscator obfuscator = resolution.obfuscator(ctxt);
+        if (obfuscator != null) {
+            ObfuscationMonitor monitor = plan.monitor();
+            if (monitor != null) {
+                monitor.valueDeserialized(plan.beanType(), property, plan.type(), obfuscator, value);
+            }
+        }
+        return obfuscator;
     }
 
     abstract JavaType extractJavaType();
 
-    abstract Object obfuscateValue(Object value);
+    abstract Object obfuscateValue(Object value, Obfuscator obfuscator, Resolution resolution);
 
     static final class ForObfuscated extends ObfuscatedDeserializer {
 
-        ForObfuscated(BeanProperty property, ValueDeserializer<Object> serializer, Obfuscator obfuscator,
-                CharacterRepresentationProvider characterRepresentationProvider) {
+        ForObfuscated(BeanProperty property, ValueDeserializer<Object> serializer, ObfuscationPlan plan) {
+            super(property, serializer, plan);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) {
+            if (p.hasToken(JsonToken.VALUE_EMBEDDED_OBJECT) && p.getEmbeddedObject() instanceof Obfuscated<?> obfuscated) {
+                // Written by ObfuscatedSerializer when converting objects
+                return deserializeEmbedded(obfuscated, p, ctxt);
+            }
+            if (plan.deepObfuscation()) {
+                return deserializeDeep(p, ctxt);
+            }
+            return super.deserialize(p, ctxt);
+        }
+
+        private Object deserializeEmbedded(Obfuscated<?> obfuscated, JsonParser p, DeserializationContext ctxt) {
+            Object value = obfuscated.value();
+            if (!valueType.getRawClass().isInstance(value)) {
+                // The value comes from a property with a different type. Deserialize the plain value instead, so it's converted to the value type
+                // or rejected, and obfuscated like any other value. Using the Obfuscated instance as-is would cause heap pollution.
+                TokenBuffer buffer = ctxt.bufferForInputBuffering(p);
+                buffer.writeEmbeddedObject(value);
+                try (JsonParser bufferParser = buffer.asParserOnFirstToken(ctxt)) {
+                    return deserialize(bufferParser, ctxt);
+                }
+            }
+            if (!plan.hasPropertyObfuscator()) {
+                // Don't obfuscate it again
+                return obfuscated;
+            }
+            // The obfuscator defined for the property takes precedence; the value itself doesn't need to be deserialized again
+            Resolution resolution = plan.resolution();
+            Obfuscator obfuscator = obfuscator(resolution, value, ctxt);
+            return obfuscator != null ? obfuscateValue(value, obfuscator, resolution) : value;
+        }
 
-            super(property, serializer, obfuscator, characterRepresentationProvider);
+        private Object deserializeDeep(JsonParser p, DeserializationContext ctxt) {
+            // Buffer the value, so its scalar values can be obfuscated without the need to inspect the deserialized value
+            TokenBuffer buffer = ctxt.bufferAsCopyOfValue(limitSize(p, ctxt));
+            Object value;
+            try (JsonParser bufferParser = buffer.asParserOnFirstToken(ctxt)) {
+                value = deserializeValue(bufferParser, ctxt);
+            }
+            Obfuscator obfuscator = obfuscator(plan.resolution(), value, ctxt);
+            if (obfuscator == null) {
+                return value;
+            }
+            // The scalar values are already obfuscated, so the representation itself must not be obfuscated again.
+            // Create the representation now, so the buffer can be released instead of being retained as long as the value.
+            // The obfuscator is kept, so values derived using map are still obfuscated.
+            return PrecomputedObfuscator.obfuscateObject(value, obfuscator, DeepRepresentation.create(buffer, obfuscator));
         }
 
         @Override
@@ -77,17 +161,25 @@ abstract class ObfuscatedDeserializer extends ValueDeserializer<Object> {
         }
 
         @Override
-        Object obfuscateValue(Object value) {
+        Object obfuscateValue(Object value, Obfuscator obfuscator, Resolution resolution) {
+            String precomputedRepresentation = resolution.precomputedRepresentation(obfuscator, value);
+            if (precomputedRepresentation != null) {
+                // The representation is already obfuscated; the obfuscator is kept, so values derived using map are still obfuscated
+                return PrecomputedObfuscator.obfuscateObject(value, obfuscator, precomputedRepresentation);
+            }
+            CharacterRepresentationProvider characterRepresentationProvider = resolution.characterRepresentationProvider;
+            if (characterRepresentationProvider instanceof CachingCharacterRepresentationProvider cachingProvider) {
+                // The obfuscated representation is cached as well, so the obfuscator only runs for values that are not cached yet
+                return PrecomputedObfuscator.obfuscateObject(value, obfuscator, () -> cachingProvider.obfuscatedRepresentation(obfuscator, value));
+            }
             return obfuscator.obfuscateObject(value, () -> characterRepresentationProvider.toCharSequence(value));
         }
     }
 
     static final class ForList extends ObfuscatedDeserializer {
 
-        ForList(BeanProperty property, ValueDeserializer<Object> serializer, Obfuscator obfuscator,
-                CharacterRepresentationProvider characterRepresentationProvider) {
-
-            super(property, serializer, obfuscator, characterRepresentationProvider);
+        ForList(BeanProperty property, ValueDeserializer<Object> serializer, ObfuscationPlan plan) {
+            super(property, serializer, plan, true);
         }
 
         @Override
@@ -96,17 +188,16 @@ abstract class ObfuscatedDeserializer extends ValueDeserializer<Object> {
         }
 
         @Override
-        Object obfuscateValue(Object value) {
-            return obfuscator.obfuscateList((List<?>) value, characterRepresentationProvider::toCharSequence);
+        Object obfuscateValue(Object value, Obfuscator obfuscator, Resolution resolution) {
+            return ObfuscatingCollections.list((List<?>) value, obfuscator, resolution.characterRepresentationProvider::toCharSequence,
+                    resolution.defaultCharacterRepresentation);
         }
     }
 
     static final class ForSet extends ObfuscatedDeserializer {
 
-        ForSet(BeanProperty property, ValueDeserializer<Object> serializer, Obfuscator obfuscator,
-                CharacterRepresentationProvider characterRepresentationProvider) {
-
-            super(property, serializer, obfuscator, characterRepresentationProvider);
+        ForSet(BeanProperty property, ValueDeserializer<Object> serializer, ObfuscationPlan plan) {
+            super(property, serializer, plan);
         }
 
         @Override
@@ -115,17 +206,15 @@ abstract class ObfuscatedDeserializer extends ValueDeserializer<Object> {
         }
 
         @Override
-        Object obfuscateValue(Object value) {
-            return obfuscator.obfuscateSet((Set<?>) value, characterRepresentationProvider::toCharSequence);
+        Object obfuscateValue(Object value, Obfuscator obfuscator, Resolution resolution) {
+            return ObfuscatingCollections.set((Set<?>) value, obfuscator, resolution.characterRepresentationProvider::toCharSequence);
         }
     }
 
     static final class ForCollection extends ObfuscatedDeserializer {
 
-        ForCollection(BeanProperty property, ValueDeserializer<Object> serializer, Obfuscator obfuscator,
-                CharacterRepresentationProvider characterRepresentationProvider) {
-
-            super(property, serializer, obfuscator, characterRepresentationProvider);
+        ForCollection(BeanProperty property, ValueDeserializer<Object> serializer, ObfuscationPlan plan) {
+            super(property, serializer, plan, true);
         }
 
         @Override
@@ -134,17 +223,16 @@ abstract class ObfuscatedDeserializer extends ValueDeserializer<Object> {
         }
 
         @Override
-        Object obfuscateValue(Object value) {
-            return obfuscator.obfuscateCollection((Collection<?>) value, characterRepresentationProvider::toCharSequence);
+        Object obfuscateValue(Object value, Obfuscator obfuscator, Resolution resolution) {
+            return ObfuscatingCollections.collection((Collection<?>) value, obfuscator, resolution.characterRepresentationProvider::toCharSequence,
+                    resolution.defaultCharacterRepresentation);
         }
     }
 
     static final class ForMap extends ObfuscatedDeserializer {
 
-        ForMap(BeanProperty property, ValueDeserializer<Object> serializer, Obfuscator obfuscator,
-                CharacterRepresentationProvider characterRepresentationProvider) {
-
-            super(property, serializer, obfuscator, characterRepresentationProvider);
+        ForMap(BeanProperty property, ValueDeserializer<Object> serializer, ObfuscationPlan plan) {
+            super(property, serializer, plan);
         }
 
         @Override
@@ -153,8 +241,8 @@ abstract class ObfuscatedDeserializer extends ValueDeserializer<Object> {
         }
 
         @Override
-        Object obfuscateValue(Object value) {
-            return obfuscator.obfuscateMap((Map<?, ?>) value, characterRepresentationProvider::toCharSequence);
+        Object obfuscateValue(Object value, Obfuscator obfuscator, Resolution resolution) {
+            return obfuscator.obfuscateMap((Map<?, ?>) value, resolution.characterRepresentationProvider::toCharSequence);
         }
     }
 }
@@ -23,23 +23,59 @@ import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.BeanProperty;
 import tools.jackson.databind.SerializationContext;
 import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.ser.BeanPropertyWriter;
+import tools.jackson.databind.util.TokenBuffer;
 
 final class ObfuscatedSerializer extends ValueSerializer<Object> {
 
+    // null for values that are not bean properties
+    private final Class<?> beanType;
+    // null for values that are not bean properties
     private final BeanProperty property;
+    // null to look up the serializer for each value
     private final ValueSerializer<Object> serializer;
+    private final boolean preserveObfuscatedOnConversion;
+    // null if monitoring is disabled
+    private final ObfuscationMonitor monitor;
 
-    ObfuscatedSerializer(BeanProperty property, ValueSerializer<Object> serializer) {
+    private ObfuscatedSerializer(Class<?> beanType, BeanProperty property, ValueSerializer<Object> serializer, ObfuscationModule module) {
+        this.beanType = beanType;
         this.property = property;
         this.serializer = serializer;
+        this.preserveObfuscatedOnConversion = module.preserveObfuscatedOnConversion();
+        this.monitor = module.monitor();
+    }
+
+    // For Obfuscated bean properties
+    static ObfuscatedSerializer forProperty(Class<?> beanType, BeanPropertyWriter property, ObfuscationModule module) {
+        return new ObfuscatedSerializer(beanType, property, property.getSerializer(), module);
+    }
+
+    // For Obfuscated values that are not bean properties, like the values of any getters
+    static ObfuscatedSerializer forValues(ObfuscationModule module) {
+        return new ObfuscatedSerializer(null, null, null, module);
     }
 
     @Override
     public void serialize(Object object, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
-        Object value = ((Obfuscated<?>) object).value();
-        ValueSerializer<Object> actualSerializer = serializer != null
-                ? serializer
-                : ctxt.findContentValueSerializer(value.getClass(), property);
-        actualSerializer.serialize(value, gen, ctxt);
+        Obfuscated<?> obfuscated = (Obfuscated<?>) object;
+        Object value = obfuscated.value();
+        boolean dualOutput = gen instanceof TokenBuffer && DualOutputWriter.isEnabled(ctxt);
+        if (dualOutput) {
+            // DualOutputWriter will replace the plain value that follows with the obfuscated representation in the masked output
+            gen.writeEmbeddedObject(DualOutputWriter.marker(obfuscated));
+        }
+        if (!dualOutput && preserveObfuscatedOnConversion && gen instanceof TokenBuffer) {
+            // ObfuscatedDeserializer.ForObfuscated will pick up the Obfuscated instance as-is
+            gen.writeEmbeddedObject(object);
+        } else {
+            ValueSerializer<Object> actualSerializer = serializer != null
+                    ? serializer
+                    : ctxt.findContentValueSerializer(value.getClass(), property);
+            actualSerializer.serialize(value, gen, ctxt);
+        }
+        if (monitor != null) {
+            monitor.valueSerialized(beanType, property, value);
+        }
     }
 }
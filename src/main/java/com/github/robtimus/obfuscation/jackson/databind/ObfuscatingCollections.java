@@ -0,0 +1,261 @@
+/*
+ * ObfuscatingCollections.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+import com.github.robtimus.obfuscation.Obfuscator;
+
+// Views of collections that obfuscate their string representations, like the collections returned by Obfuscator.obfuscateList, obfuscateSet
+// and obfuscateCollection. All methods but toString delegate to the wrapped collection, and toString delegates to the collections returned by
+// Obfuscator. Unlike those, these views expose the collections they wrap, so these can be serialized directly.
+// Lists created by PrimitiveLists are obfuscated using their backing arrays if the element representation is the default one.
+final class ObfuscatingCollections {
+
+    private ObfuscatingCollections() {
+    }
+
+    static <E> List<E> list(List<E> list, Obfuscator obfuscator, Function<? super E, ? extends CharSequence> elementRepresentation,
+            boolean defaultElementRepresentation) {
+
+        return list instanceof RandomAccess
+                ? new RandomAccessObfuscatingList<>(list, obfuscator, elementRepresentation, defaultElementRepresentation)
+                : new ObfuscatingList<>(list, obfuscator, elementRepresentation, defaultElementRepresentation);
+    }
+
+    static <E> Set<E> set(Set<E> set, Obfuscator obfuscator, Function<? super E, ? extends CharSequence> elementRepresentation) {
+        return new ObfuscatingSet<>(set, obfuscator, elementRepresentation);
+    }
+
+    static <E> Collection<E> collection(Collection<E> collection, Obfuscator obfuscator,
+            Function<? super E, ? extends CharSequence> elementRepresentation, boolean defaultElementRepresentation) {
+
+        return new ObfuscatingCollection<>(collection, obfuscator, elementRepresentation, defaultElementRepresentation);
+    }
+
+    // returns the value itself if it's not a view created by this class
+    static Object unwrap(Object value) {
+        return value instanceof ObfuscatingCollection<?> collection ? collection.collection : value;
+    }
+
+    private static class ObfuscatingCollection<E> implements Collection<E> {
+
+        final Collection<E> collection;
+        final Obfuscator obfuscator;
+        final Function<? super E, ? extends CharSequence> elementRepresentation;
+        // true if elementRepresentation is the default character representation of the elements
+        final boolean defaultElementRepresentation;
+
+        private ObfuscatingCollection(Collection<E> collection, Obfuscator obfuscator,
+                Function<? super E, ? extends CharSequence> elementRepresentation, boolean defaultElementRepresentation) {
+
+            this.collection = collection;
+            this.obfuscator = obfuscator;
+            this.elementRepresentation = elementRepresentation;
+            this.defaultElementRepresentation = defaultElementRepresentation;
+        }
+
+        @Override
+        public int size() {
+            return collection.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return collection.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return collection.contains(o);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return collection.iterator();
+        }
+
+        @Override
+        public Object[] toArray() {
+            return collection.toArray();
+        }
+
+        @Override
+        public <T> T[] toArray(T[] a) {
+            return collection.toArray(a);
+        }
+
+        @Override
+        public boolean add(E e) {
+            return collection.add(e);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return collection.remove(o);
+        }
+
+        @Override
+        public boolean containsAll(Collection<?> c) {
+            return collection.containsAll(c);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends E> c) {
+            return collection.addAll(c);
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            return collection.removeAll(c);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            return collection.retainAll(c);
+        }
+
+        @Override
+        public void clear() {
+            collection.clear();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o == this || collection.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return collection.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            CharSequence representation = primitiveRepresentation();
+            return representation != null
+                    ? representation.toString()
+                    : obfuscator.obfuscateCollection(collection, elementRepresentation).toString();
+        }
+
+        // returns null if the collection is not backed by a primitive array, or if the elements need to be passed to elementRepresentation
+        final CharSequence primitiveRepresentation() {
+            return defaultElementRepresentation ? PrimitiveLists.obfuscatedRepresentation(collection, obfuscator) : null;
+        }
+    }
+
+    private static class ObfuscatingList<E> extends ObfuscatingCollection<E> implements List<E> {
+
+        private final List<E> list;
+
+        private ObfuscatingList(List<E> list, Obfuscator obfuscator, Function<? super E, ? extends CharSequence> elementRepresentation,
+                boolean defaultElementRepresentation) {
+
+            super(list, obfuscator, elementRepresentation, defaultElementRepresentation);
+            this.list = list;
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends E> c) {
+            return list.addAll(index, c);
+        }
+
+        @Override
+        public E get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return list.set(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            list.add(index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+            return list.remove(index);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return list.indexOf(o);
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return list.lastIndexOf(o);
+        }
+
+        @Override
+        public ListIterator<E> listIterator() {
+            return list.listIterator();
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            return list.listIterator(index);
+        }
+
+        @Override
+        public List<E> subList(int fromIndex, int toIndex) {
+            return list(list.subList(fromIndex, toIndex), obfuscator, elementRepresentation, defaultElementRepresentation);
+        }
+
+        @Override
+        public String toString() {
+            CharSequence representation = primitiveRepresentation();
+            return representation != null
+                    ? representation.toString()
+                    : obfuscator.obfuscateList(list, elementRepresentation).toString();
+        }
+    }
+
+    private static final class RandomAccessObfuscatingList<E> extends ObfuscatingList<E> implements RandomAccess {
+
+        private RandomAccessObfuscatingList(List<E> list, Obfuscator obfuscator, Function<? super E, ? extends CharSequence> elementRepresentation,
+                boolean defaultElementRepresentation) {
+
+            super(list, obfuscator, elementRepresentation, defaultElementRepresentation);
+        }
+    }
+
+    private static final class ObfuscatingSet<E> extends ObfuscatingCollection<E> implements Set<E> {
+
+        private final Set<E> set;
+
+        private ObfuscatingSet(Set<E> set, Obfuscator obfuscator, Function<? super E, ? extends CharSequence> elementRepresentation) {
+            // Sets are never created by PrimitiveLists
+            super(set, obfuscator, elementRepresentation, false);
+            this.set = set;
+        }
+
+        @Override
+        public String toString() {
+            return obfuscator.obfuscateSet(set, elementRepresentation).toString();
+        }
+    }
+}
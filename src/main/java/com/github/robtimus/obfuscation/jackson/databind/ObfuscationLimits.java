@@ -0,0 +1,64 @@
+/*
+ * ObfuscationLimits.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the size of the JSON values of an obfuscated property. These limits are checked while the value is being read, and if a limit is
+ * exceeded, deserialization fails with a {@link tools.jackson.databind.exc.MismatchedInputException MismatchedInputException}.
+ * <p>
+ * These limits restrict the size of what is deserialized and stored in the property, not what the parser allocates. The number of elements
+ * is checked element by element, so an oversized array or object is rejected before all of its elements are read. String values however
+ * are checked after the parser has read them entirely, because the parser decides how to buffer each string token. To limit the length of
+ * string values while they are parsed, use {@link tools.jackson.core.StreamReadConstraints StreamReadConstraints}; these apply to all string
+ * values that the parser reads.
+ * <p>
+ * Limits that are not set use the defaults of the {@link ObfuscationModule}, as set using
+ * {@link ObfuscationModule.Builder#withDefaultMaxLength(int)} and {@link ObfuscationModule.Builder#withDefaultMaxElements(int)}.
+ *
+ * @author Rob Spoor
+ * @since 2.1
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER })
+public @interface ObfuscationLimits {
+
+    /**
+     * The maximum length of any string value that is part of the property's value, including nested values.
+     * This is checked after the parser has read the string value; it limits what is stored, not what is parsed.
+     * A negative value means the module's default is used.
+     *
+     * @return The maximum length of any string value that is part of the property's value.
+     */
+    int maxLength() default -1;
+
+    /**
+     * The maximum number of elements of the property's value if it's a JSON array, or the maximum number of properties if it's a JSON object.
+     * Nested arrays and objects are not included in this count.
+     * A negative value means the module's default is used.
+     *
+     * @return The maximum number of elements or properties of the property's value.
+     */
+    int maxElements() default -1;
+}
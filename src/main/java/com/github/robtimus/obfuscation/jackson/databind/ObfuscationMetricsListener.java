@@ -0,0 +1,74 @@
+/*
+ * ObfuscationMetricsListener.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import com.github.robtimus.obfuscation.Obfuscated;
+import com.github.robtimus.obfuscation.Obfuscator;
+
+/**
+ * A listener for the work done by {@link ObfuscationModule ObfuscationModules}. This can be used to collect metrics, for instance to count the
+ * number of obfuscated values per bean type.
+ * <p>
+ * Listeners are called synchronously from the threads that serialize and deserialize values, and may be called concurrently.
+ * Implementations should therefore be thread-safe and fast. All methods have an empty default implementation.
+ *
+ * @author Rob Spoor
+ * @since 2.1
+ */
+public interface ObfuscationMetricsListener {
+
+    /**
+     * Called when a property value has been obfuscated during deserialization.
+     * For {@link Obfuscated} properties this is called for each value; for {@link java.util.List List}, {@link java.util.Set Set},
+     * {@link java.util.Collection Collection} and {@link java.util.Map Map} properties this is called once for the entire list, set, collection
+     * or map.
+     *
+     * @param beanType The type of bean that contains the property.
+     * @param propertyName The name of the property.
+     * @param valueType The generic element/value type of the property.
+     * @param obfuscator The obfuscator that was used.
+     */
+    default void valueDeserialized(Class<?> beanType, String propertyName, Class<?> valueType, Obfuscator obfuscator) {
+        // does nothing by default
+    }
+
+    /**
+     * Called when an {@link Obfuscated} value has been serialized.
+     * This is also called for {@link Obfuscated} values that are not bean properties, like the values of
+     * {@link com.fasterxml.jackson.annotation.JsonAnyGetter JsonAnyGetter} methods.
+     *
+     * @param beanType The type of bean that contains the property, or {@code null} if the value is not a bean property.
+     * @param propertyName The name of the property, or {@code null} if the value is not a bean property.
+     * @param valueType The type of the serialized value.
+     */
+    default void valueSerialized(Class<?> beanType, String propertyName, Class<?> valueType) {
+        // does nothing by default
+    }
+
+    /**
+     * Called when the character representation of a value that was obfuscated during deserialization has been computed.
+     * This usually happens the first time the obfuscated value is converted to a string.
+     *
+     * @param valueType The generic element/value type of the property the value was deserialized for.
+     * @param length The length of the character representation.
+     * @param durationNanos The time it took to compute the character representation, in nanoseconds.
+     */
+    default void representationComputed(Class<?> valueType, int length, long durationNanos) {
+        // does nothing by default
+    }
+}
@@ -17,13 +17,22 @@
 
 package com.github.robtimus.obfuscation.jackson.databind;
 
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Stream;
 import com.github.robtimus.obfuscation.Obfuscated;
 import com.github.robtimus.obfuscation.Obfuscator;
 import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
@@ -41,38 +50,98 @@ import tools.jackson.core.Version;
 import tools.jackson.databind.DeserializationConfig;
 import tools.jackson.databind.JacksonModule;
 import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.module.SimpleSerializers;
 import tools.jackson.databind.util.ClassUtil;
 
 /**
  * A module that adds support for serializing and deserializing obfuscated values.
+ * <p>
+ * Instances of this class are serializable if their {@link ObjectFactory}, {@link Obfuscator}, {@link CharacterRepresentationProvider} and
+ * {@link ObfuscationMetricsListener} instances are. If no object factory and default obfuscator are set, the defaults will be restored after
+ * deserialization. This allows {@link tools.jackson.databind.ObjectMapper ObjectMappers} with an obfuscation module to be serialized.
+ * Obfuscators like the ones returned by {@link Obfuscator#fixedLength(int)} are usually not serializable; for modules that use such objects,
+ * use {@link Builder#serializeUsing(Factory)} to recreate the module after deserialization instead. Serializing a module with a
+ * non-serializable object without such a factory fails with a {@link NotSerializableException} that mentions the non-serializable object.
  *
  * @author Rob Spoor
  */
-public final class ObfuscationModule extends JacksonModule {
+public final class ObfuscationModule extends JacksonModule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private static final ObfuscationModule DEFAULT_MODULE = builder().build();
 
-    private final ObjectFactory objectFactory;
-    private final Obfuscator defaultObfuscator;
+    // All fields are transient, because instances are serialized using a SerializedForm
+    private final transient ObjectFactory objectFactory;
+
+    private final transient Profile[] profiles;
+
+    // Replaced when reloading; reading it is the only synchronization needed while deserializing
+    private transient volatile ObfuscationSettings settings;
+
+    private final transient boolean requireObfuscatorAnnotation;
+    private final transient boolean reloadable;
+
+    private final transient boolean preserveObfuscatedOnConversion;
+
+    private final transient boolean primitiveNumericLists;
+
+    private final transient int defaultMaxLength;
+    private final transient int defaultMaxElements;
+
+    // The values are always Boolean.TRUE; maps are used to allow the same class-specific lookups as for default obfuscators
+    private final transient Map<Class<?>, Boolean> classDeepObfuscationTypes;
+    private final transient Map<Class<?>, Boolean> interfaceDeepObfuscationTypes;
+
+    private final transient Map<String, Obfuscator> dynamicPropertyObfuscators;
+
+    private final transient Map<Class<?>, FiniteDomain> finiteDomains;
 
-    private final Map<Class<?>, Obfuscator> classObfuscators;
-    private final Map<Class<?>, Obfuscator> interfaceObfuscators;
+    // null if neither a metrics listener nor flight recorder events are enabled
+    private final transient ObfuscationMonitor monitor;
 
-    private final Map<Class<?>, CharacterRepresentationProvider> classCharacterRepresentationProviders;
-    private final Map<Class<?>, CharacterRepresentationProvider> interfaceCharacterRepresentationProviders;
+    // null if the module should be serialized using its settings
+    private final transient Factory serializationFactory;
 
-    private final boolean requireObfuscatorAnnotation;
+    // Shared by all mappers this module is registered with
+    private final transient ObfuscationPlanCache planCache = new ObfuscationPlanCache();
 
     private ObfuscationModule(Builder builder) {
-        objectFactory = builder.objectFactory;
-        defaultObfuscator = builder.defaultObfuscator;
+        this(builder, createProfiles(builder.profiles != null ? builder.profiles.keySet() : Collections.emptySet()));
+    }
 
-        classObfuscators = copyMap(builder.classObfuscators);
-        interfaceObfuscators = copyMap(builder.interfaceObfuscators);
-        classCharacterRepresentationProviders = copyMap(builder.classCharacterRepresentationProviders);
-        interfaceCharacterRepresentationProviders = copyMap(builder.interfaceCharacterRepresentationProviders);
+    private ObfuscationModule(Builder builder, Profile[] profiles) {
+        this(builder, profiles, createSettings(builder, profiles));
+    }
 
-        requireObfuscatorAnnotation = builder.requireObfuscatorAnnotation;
+    private ObfuscationModule(Builder builder, Profile[] profiles, ObfuscationSettings settings) {
+        this.objectFactory = builder.objectFactory;
+        this.profiles = profiles;
+        this.settings = settings;
+        this.requireObfuscatorAnnotation = builder.requireObfuscatorAnnotation;
+        this.reloadable = builder.reloadable;
+        this.preserveObfuscatedOnConversion = builder.preserveObfuscatedOnConversion;
+        this.primitiveNumericLists = builder.primitiveNumericLists;
+        this.defaultMaxLength = builder.defaultMaxLength;
+        this.defaultMaxElements = builder.defaultMaxElements;
+        this.classDeepObfuscationTypes = deepObfuscationTypes(builder.deepObfuscationTypes, false);
+        this.interfaceDeepObfuscationTypes = deepObfuscationTypes(builder.deepObfuscationTypes, true);
+        this.dynamicPropertyObfuscators = builder.dynamicPropertyObfuscators != null
+                ? Collections.unmodifiableMap(new HashMap<>(builder.dynamicPropertyObfuscators))
+                : Collections.emptyMap();
+        this.finiteDomains = finiteDomains(builder.finiteDomains);
+        this.monitor = ObfuscationMonitor.create(builder.metricsListener, builder.flightRecorderEvents);
+        this.serializationFactory = builder.serializationFactory;
+    }
+
+    private static Map<Class<?>, FiniteDomain> finiteDomains(Map<Class<?>, List<Object>> finiteDomainValues) {
+        if (finiteDomainValues == null) {
+            return Collections.emptyMap();
+        }
+        Map<Class<?>, FiniteDomain> finiteDomains = new HashMap<>();
+        finiteDomainValues.forEach((type, values) -> finiteDomains.put(type, FiniteDomain.of(values)));
+        return Collections.unmodifiableMap(finiteDomains);
     }
 
     private static <T> Map<Class<?>, T> copyMap(Map<Class<?>, T> map) {
@@ -81,6 +150,63 @@ public final class ObfuscationModule extends JacksonModule {
                 : Collections.emptyMap();
     }
 
+    private static Map<Class<?>, Boolean> deepObfuscationTypes(Set<Class<?>> types, boolean interfaces) {
+        if (types == null) {
+            return Collections.emptyMap();
+        }
+        Map<Class<?>, Boolean> result = new HashMap<>();
+        for (Class<?> type : types) {
+            if (type.isInterface() == interfaces) {
+                result.put(type, Boolean.TRUE);
+            }
+        }
+        return result.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(result);
+    }
+
+    private static Profile[] createProfiles(Collection<String> names) {
+        Profile[] profiles = new Profile[names.size()];
+        int index = 0;
+        for (String name : names) {
+            // profile indexes start at 1; 0 is reserved for the module's own settings
+            profiles[index] = new Profile(name, index + 1);
+            index++;
+        }
+        return profiles;
+    }
+
+    @SuppressWarnings("nls")
+    private static ObfuscationSettings createSettings(Builder builder, Profile[] profiles) {
+        Map<String, ProfileSettings> profileSettings = builder.profiles != null ? builder.profiles : Collections.emptyMap();
+        for (String name : profileSettings.keySet()) {
+            if (findProfile(profiles, name) == null) {
+                throw new IllegalArgumentException("Unknown profile: " + name);
+            }
+        }
+
+        ObfuscationSettings.ProfileObfuscators[] profileObfuscators = new ObfuscationSettings.ProfileObfuscators[profiles.length];
+        for (Profile profile : profiles) {
+            ProfileSettings definedSettings = profileSettings.get(profile.name);
+            profileObfuscators[profile.index - 1] = definedSettings != null
+                    ? new ObfuscationSettings.ProfileObfuscators(definedSettings.defaultObfuscator,
+                            copyMap(definedSettings.classObfuscators), copyMap(definedSettings.interfaceObfuscators))
+                    : ObfuscationSettings.ProfileObfuscators.NONE;
+        }
+
+        return new ObfuscationSettings(builder.defaultObfuscator,
+                copyMap(builder.classObfuscators), copyMap(builder.interfaceObfuscators),
+                copyMap(builder.classCharacterRepresentationProviders), copyMap(builder.interfaceCharacterRepresentationProviders),
+                profileObfuscators);
+    }
+
+    private static Profile findProfile(Profile[] profiles, String name) {
+        for (Profile profile : profiles) {
+            if (profile.name.equals(name)) {
+                return profile;
+            }
+        }
+        return null;
+    }
+
     @Override
     public String getModuleName() {
         return getClass().getName();
@@ -93,11 +219,159 @@ public final class ObfuscationModule extends JacksonModule {
 
     @Override
     public void setupModule(SetupContext context) {
-        context.addSerializerModifier(new ObfuscatedBeanSerializerModifier());
-        context.addDeserializerModifier(new ObfuscatedBeanDeserializerModifier(objectFactory, defaultObfuscator,
-                classObfuscators, interfaceObfuscators,
-                classCharacterRepresentationProviders, interfaceCharacterRepresentationProviders,
-                requireObfuscatorAnnotation));
+        context.addSerializerModifier(new ObfuscatedBeanSerializerModifier(this));
+        context.addDeserializerModifier(new ObfuscatedBeanDeserializerModifier(this));
+
+        // Obfuscated values that are not properties, like the values of any getters, are not handled by ObfuscatedBeanSerializerModifier
+        SimpleSerializers serializers = new SimpleSerializers();
+        serializers.addSerializer(Obfuscated.class, ObfuscatedSerializer.forValues(this));
+        context.addSerializers(serializers);
+    }
+
+    /**
+     * Reloads the settings of this module. This replaces the default obfuscators, type-specific default obfuscators, type-specific default
+     * character representation providers and profile obfuscators of this module with those of the given builder. All
+     * {@link tools.jackson.databind.ObjectMapper ObjectMappers} this module is registered with will use the new settings, without the need to
+     * rebuild them.
+     * <p>
+     * Any other setting of the given builder is ignored. This includes the object factory, whether or not an annotation is required to provide an
+     * obfuscator, and whether or not the module is reloadable. Profiles cannot be added; a profile of this module that is not defined in the
+     * given builder will use the module's own settings after reloading. Obfuscators and character representation providers defined in
+     * annotations are not affected.
+     * <p>
+     * Values that are deserialized after this method returns will use the new settings. Values that are deserialized concurrently with a call to
+     * this method will use either the old or the new settings.
+     *
+     * @param builder A builder with the new settings.
+     * @throws NullPointerException If the given builder is {@code null}.
+     * @throws IllegalStateException If this module is not {@link Builder#reloadable(boolean) reloadable}.
+     * @throws IllegalArgumentException If the given builder defines a profile that is not defined for this module.
+     * @since 2.1
+     */
+    @SuppressWarnings("nls")
+    public void reload(Builder builder) {
+        Objects.requireNonNull(builder);
+        if (!reloadable) {
+            throw new IllegalStateException("Module is not reloadable");
+        }
+        settings = createSettings(builder, profiles);
+    }
+
+    /**
+     * Returns a profile that was defined for this module.
+     *
+     * @param name The name of the profile.
+     * @return The profile with the given name.
+     * @throws NullPointerException If the given name is {@code null}.
+     * @throws IllegalArgumentException If no profile with the given name was defined.
+     * @see Builder#withProfileObfuscator(String, Obfuscator)
+     * @see Builder#withProfileObfuscator(String, Class, Obfuscator)
+     * @since 2.1
+     */
+    @SuppressWarnings("nls")
+    public Profile profile(String name) {
+        Objects.requireNonNull(name);
+        Profile profile = findProfile(profiles, name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown profile: " + name);
+        }
+        return profile;
+    }
+
+    ObjectFactory objectFactory() {
+        return objectFactory;
+    }
+
+    Profile[] profiles() {
+        return profiles;
+    }
+
+    ObfuscationSettings settings() {
+        return settings;
+    }
+
+    boolean requireObfuscatorAnnotation() {
+        return requireObfuscatorAnnotation;
+    }
+
+    boolean reloadable() {
+        return reloadable;
+    }
+
+    boolean preserveObfuscatedOnConversion() {
+        return preserveObfuscatedOnConversion;
+    }
+
+    boolean primitiveNumericLists() {
+        return primitiveNumericLists;
+    }
+
+    SizeLimits sizeLimits(ObfuscationLimits annotation) {
+        return SizeLimits.of(annotation, defaultMaxLength, defaultMaxElements);
+    }
+
+    boolean deepObfuscation(Class<?> type) {
+        if (classDeepObfuscationTypes.isEmpty() && interfaceDeepObfuscationTypes.isEmpty()) {
+            return false;
+        }
+        return ObfuscatedBeanDeserializerModifier.findClassSpecificObject(type, classDeepObfuscationTypes, interfaceDeepObfuscationTypes) != null;
+    }
+
+    Map<String, Obfuscator> dynamicPropertyObfuscators() {
+        return dynamicPropertyObfuscators;
+    }
+
+    // returns null if the type has no finite domain
+    FiniteDomain finiteDomain(Class<?> type) {
+        FiniteDomain finiteDomain = finiteDomains.get(type);
+        return finiteDomain != null ? finiteDomain : FiniteDomain.implicit(type);
+    }
+
+    ObfuscationPlanCache planCache() {
+        return planCache;
+    }
+
+    ObfuscationMonitor monitor() {
+        return monitor;
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        if (serializationFactory != null) {
+            return new FactoryForm(serializationFactory);
+        }
+        requireSerializable();
+        return new SerializedForm(this);
+    }
+
+    // Fails early with a message that mentions the offending object, instead of the class name of some nested object
+    @SuppressWarnings("nls")
+    private void requireSerializable() throws NotSerializableException {
+        requireSerializable(objectFactory, "object factory");
+        for (Object object : settings.objects()) {
+            requireSerializable(object, "obfuscator or character representation provider");
+        }
+        for (Obfuscator obfuscator : dynamicPropertyObfuscators.values()) {
+            requireSerializable(obfuscator, "dynamic property obfuscator");
+        }
+        for (FiniteDomain finiteDomain : finiteDomains.values()) {
+            for (Object value : finiteDomain.values()) {
+                requireSerializable(value, "finite domain value");
+            }
+        }
+        requireSerializable(monitor != null ? monitor.listener() : null, "metrics listener");
+    }
+
+    @SuppressWarnings("nls")
+    private static void requireSerializable(Object object, String description) throws NotSerializableException {
+        if (object != null && !(object instanceof Serializable)) {
+            throw new NotSerializableException(String.format("%s: non-serializable %s; use Builder.serializeUsing to recreate the module instead",
+                    object.getClass().getName(), description));
+        }
+    }
+
+    @SuppressWarnings({ "nls", "unused" })
+    private void readObject(ObjectInputStream input) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialized form required");
     }
 
     /**
@@ -125,10 +399,8 @@ public final class ObfuscationModule extends JacksonModule {
      */
     public static final class Builder {
 
-        private static final Obfuscator DEFAULT_OBFUSCATOR = Obfuscator.fixedLength(3);
-
         private ObjectFactory objectFactory;
-        private Obfuscator defaultObfuscator = DEFAULT_OBFUSCATOR;
+        private Obfuscator defaultObfuscator = ObfuscationSettings.DEFAULT_OBFUSCATOR;
 
         private Map<Class<?>, Obfuscator> classObfuscators;
         private Map<Class<?>, Obfuscator> interfaceObfuscators;
@@ -136,7 +408,28 @@ public final class ObfuscationModule extends JacksonModule {
         private Map<Class<?>, CharacterRepresentationProvider> classCharacterRepresentationProviders;
         private Map<Class<?>, CharacterRepresentationProvider> interfaceCharacterRepresentationProviders;
 
+        private Map<String, ProfileSettings> profiles;
+
         private boolean requireObfuscatorAnnotation = false;
+        private boolean reloadable = false;
+
+        private boolean preserveObfuscatedOnConversion = false;
+
+        private boolean primitiveNumericLists = false;
+
+        private int defaultMaxLength = SizeLimits.UNLIMITED;
+        private int defaultMaxElements = SizeLimits.UNLIMITED;
+
+        private Set<Class<?>> deepObfuscationTypes;
+
+        private Map<String, Obfuscator> dynamicPropertyObfuscators;
+
+        private Map<Class<?>, List<Object>> finiteDomains;
+
+        private ObfuscationMetricsListener metricsListener;
+        private boolean flightRecorderEvents = false;
+
+        private Factory serializationFactory;
 
         private Builder() {
             super();
@@ -233,6 +526,7 @@ public final class ObfuscationModule extends JacksonModule {
          * <li>{@link DoubleArrayToString} for {@code double[]}</li>
          * <li>{@link ObjectArrayToString} for {@code Object[]}</li>
          * </ul>
+         * For primitive arrays other than {@code char[]}, equivalent implementations are used that avoid growing and copying buffers.
          *
          * @param type The type to set the default obfuscator for.
          * @param defaultProvider The default character representation provider to use.
@@ -258,6 +552,317 @@ public final class ObfuscationModule extends JacksonModule {
             return this;
         }
 
+        /**
+         * Sets the default obfuscator to use for a profile, in case no obfuscator could be found from annotations or type-specific default
+         * obfuscators. If no default obfuscator is set for a profile, the {@link #withDefaultObfuscator(Obfuscator) global default obfuscator}
+         * is used instead.
+         * <p>
+         * Profiles allow different obfuscators to be used with one mapper. See {@link Profile} for more information.
+         *
+         * @param profile The name of the profile to set the default obfuscator for.
+         * @param defaultObfuscator The default obfuscator to use.
+         * @return This object.
+         * @throws NullPointerException If the given profile or obfuscator is {@code null}.
+         * @since 2.1
+         */
+        public Builder withProfileObfuscator(String profile, Obfuscator defaultObfuscator) {
+            Objects.requireNonNull(defaultObfuscator);
+
+            profileSettings(profile).defaultObfuscator = defaultObfuscator;
+            return this;
+        }
+
+        /**
+         * Sets the default obfuscator to use for a specific type for a profile, in case no obfuscator could be found from annotations.
+         * This works like {@link #withDefaultObfuscator(Class, Obfuscator)}, but only when the profile is used. Type-specific default obfuscators
+         * for a profile take precedence over type-specific default obfuscators for the module itself.
+         * <p>
+         * Profiles allow different obfuscators to be used with one mapper. See {@link Profile} for more information.
+         *
+         * @param profile The name of the profile to set the default obfuscator for.
+         * @param type The type to set the default obfuscator for.
+         * @param defaultObfuscator The default obfuscator to use.
+         * @return This object.
+         * @throws NullPointerException If the given profile, type or obfuscator is {@code null}.
+         * @since 2.1
+         */
+        public Builder withProfileObfuscator(String profile, Class<?> type, Obfuscator defaultObfuscator) {
+            Objects.requireNonNull(type);
+            Objects.requireNonNull(defaultObfuscator);
+
+            ProfileSettings settings = profileSettings(profile);
+            if (type.isInterface()) {
+                settings.interfaceObfuscators.put(type, defaultObfuscator);
+            } else {
+                settings.classObfuscators.put(type, defaultObfuscator);
+            }
+            return this;
+        }
+
+        private ProfileSettings profileSettings(String profile) {
+            Objects.requireNonNull(profile);
+
+            if (profiles == null) {
+                profiles = new LinkedHashMap<>();
+            }
+            return profiles.computeIfAbsent(profile, p -> new ProfileSettings());
+        }
+
+        /**
+         * Sets whether or not the created module can be {@link ObfuscationModule#reload(Builder) reloaded}. The default is {@code false}.
+         * <p>
+         * If a module is reloadable, any {@link List}, {@link Set}, {@link Collection} and {@link Map} field will be prepared for obfuscation
+         * during deserialization, even if no obfuscator is found for its generic element/value type. That allows such fields to become obfuscated
+         * after reloading. Until then, their values are not obfuscated. If {@link #requireObfuscatorAnnotation(boolean) an annotation is required}
+         * to provide an obfuscator, fields without such annotation are not prepared.
+         *
+         * @param reloadable {@code true} to allow the module to be reloaded, or {@code false} otherwise.
+         * @return This object.
+         * @since 2.1
+         */
+        public Builder reloadable(boolean reloadable) {
+            this.reloadable = reloadable;
+            return this;
+        }
+
+        /**
+         * Sets whether or not {@link Obfuscated} instances should be preserved when converting objects, for instance using
+         * {@link tools.jackson.databind.ObjectMapper#convertValue(Object, Class) ObjectMapper.convertValue}. The default is {@code false}.
+         * <p>
+         * If enabled, {@link Obfuscated} properties are written as embedded objects when serializing to a
+         * {@link tools.jackson.databind.util.TokenBuffer TokenBuffer}, which is what conversions use. When deserializing {@link Obfuscated}
+         * properties, such embedded objects are used as-is. This prevents the values from being serialized, deserialized and obfuscated
+         * again, and the obfuscator of the converted object will be the same as that of the original object. There are two exceptions:
+         * <ul>
+         * <li>If the property of the converted object defines its own obfuscator using annotations, the value is obfuscated using that
+         *     obfuscator. The value itself is still not serialized and deserialized again.</li>
+         * <li>If the value is not an instance of the generic type of the property of the converted object, the value is deserialized from the
+         *     embedded value. This will either convert the value, or fail with an exception.</li>
+         * </ul>
+         * <p>
+         * Note that this also affects other operations that use {@link tools.jackson.databind.util.TokenBuffer TokenBuffer}. For instance,
+         * {@link tools.jackson.databind.ObjectMapper#valueToTree(Object) ObjectMapper.valueToTree} will return trees containing
+         * {@link tools.jackson.databind.node.POJONode POJONodes} for {@link Obfuscated} properties.
+         *
+         * @param preserveObfuscatedOnConversion {@code true} to preserve {@link Obfuscated} instances, or {@code false} to serialize and
+         *                                           deserialize them like any other value.
+         * @return This object.
+         * @since 2.1
+         */
+        public Builder preserveObfuscatedOnConversion(boolean preserveObfuscatedOnConversion) {
+            this.preserveObfuscatedOnConversion = preserveObfuscatedOnConversion;
+            return this;
+        }
+
+        /**
+         * Sets whether or not obfuscated {@link List} and {@link Collection} properties of {@link Integer} and {@link Long} elements should be
+         * backed by primitive arrays. The default is {@code false}.
+         * <p>
+         * If enabled, JSON arrays for such properties are read into {@code int[]} or {@code long[]} arrays, and the deserialized value is an
+         * immutable list that is backed by the array. This prevents creating a boxed object for each element, which saves memory for large
+         * arrays. Elements are boxed when they are retrieved from the list. JSON arrays with {@code null} elements are rejected.
+         * <p>
+         * This does not apply to properties with a custom deserializer or a {@link tools.jackson.databind.annotation.JsonDeserialize JsonDeserialize}
+         * annotation, or to {@link Set} properties.
+         *
+         * @param primitiveNumericLists {@code true} to back numeric lists by primitive arrays, or {@code false} to use boxed elements.
+         * @return This object.
+         * @since 2.1
+         */
+        public Builder primitiveNumericLists(boolean primitiveNumericLists) {
+            this.primitiveNumericLists = primitiveNumericLists;
+            return this;
+        }
+
+        /**
+         * Sets the default maximum length of string values of obfuscated properties, including nested string values.
+         * This can be overridden per property using {@link ObfuscationLimits#maxLength()}. The default is to not limit the length.
+         * <p>
+         * The length is checked after the parser has read the string value, but before the value is deserialized into the property. If a string
+         * value is too long, deserialization fails with a {@link tools.jackson.databind.exc.MismatchedInputException MismatchedInputException}.
+         * This limits what is stored, not what the parser allocates; use {@link tools.jackson.core.StreamReadConstraints StreamReadConstraints}
+         * to limit the length of all string values while they are parsed.
+         *
+         * @param maxLength The default maximum length of string values of obfuscated properties.
+         * @return This object.
+         * @throws IllegalArgumentException If the given maximum length is negative.
+         * @since 2.1
+         */
+        @SuppressWarnings("nls")
+        public Builder withDefaultMaxLength(int maxLength) {
+            if (maxLength < 0) {
+                throw new IllegalArgumentException("maxLength must not be negative: " + maxLength);
+            }
+            this.defaultMaxLength = maxLength;
+            return this;
+        }
+
+        /**
+         * Sets the default maximum number of elements of obfuscated properties that are JSON arrays, or the maximum number of properties of
+         * obfuscated properties that are JSON objects. Nested arrays and objects are not included in this count.
+         * This can be overridden per property using {@link ObfuscationLimits#maxElements()}. The default is to not limit the number of elements.
+         * <p>
+         * The number of elements is checked while the elements are read. If there are too many elements, deserialization fails with a
+         * {@link tools.jackson.databind.exc.MismatchedInputException MismatchedInputException} before the remaining elements are read.
+         *
+         * @param maxElements The default maximum number of elements of obfuscated properties.
+         * @return This object.
+         * @throws IllegalArgumentException If the given maximum number of elements is negative.
+         * @since 2.1
+         */
+        @SuppressWarnings("nls")
+        public Builder withDefaultMaxElements(int maxElements) {
+            if (maxElements < 0) {
+                throw new IllegalArgumentException("maxElements must not be negative: " + maxElements);
+            }
+            this.defaultMaxElements = maxElements;
+            return this;
+        }
+
+        /**
+         * Sets a type for which {@link Obfuscated} properties should be obfuscated deeply during deserialization.
+         * It doesn't need to be the exact type; it can also be a super class or implemented interface.
+         * <p>
+         * Normally, the obfuscator of an {@link Obfuscated} property is applied to the character representation of the entire value.
+         * If the property's generic type is obfuscated deeply, the obfuscator is instead applied to each scalar value in the JSON structure of
+         * the property, while property names and the structure itself are kept. For instance, with {@code Obfuscator.fixedLength(3)} the
+         * character representation of an {@code Obfuscated<Card>} could become {@code {number=***, holder=***, address={city=***}}}.
+         * The representation is based on the JSON structure that was read, so no character representation provider is used, and no reflection
+         * is needed to compute it. It's computed once, right after the value has been deserialized, so the JSON structure is not retained.
+         * <p>
+         * Deep obfuscation is determined when deserializers are created, and is not affected by {@link ObfuscationModule#reload(Builder)}.
+         *
+         * @param type The type to obfuscate deeply.
+         * @return This object.
+         * @throws NullPointerException If the given type is {@code null}.
+         * @since 2.1
+         */
+        public Builder withDeepObfuscation(Class<?> type) {
+            Objects.requireNonNull(type);
+
+            if (deepObfuscationTypes == null) {
+                deepObfuscationTypes = new LinkedHashSet<>();
+            }
+            deepObfuscationTypes.add(type);
+            return this;
+        }
+
+        /**
+         * Sets the obfuscator to use for dynamic properties with a specific name. Dynamic properties are properties that are not defined in a
+         * class but are captured using {@link com.fasterxml.jackson.annotation.JsonAnySetter JsonAnySetter}.
+         * <p>
+         * During deserialization, the value of each dynamic property with a matching name will be wrapped in an {@link Obfuscated} object, using
+         * {@link Obfuscator#obfuscateObject(Object)}. This requires the any setter to accept values of type {@link Object}, like a
+         * {@code Map<String, Object>} field or a method with an {@link Object} value parameter, and to not have a custom deserializer.
+         * Dynamic properties with other names are not affected. Checking whether a dynamic property needs to be obfuscated takes only one
+         * hash lookup.
+         * <p>
+         * When serializing, {@link Obfuscated} values are written as their unobfuscated values, including those returned by
+         * {@link com.fasterxml.jackson.annotation.JsonAnyGetter JsonAnyGetter} methods.
+         * <p>
+         * Dynamic property obfuscators are determined when deserializers are created, and are not affected by
+         * {@link ObfuscationModule#reload(Builder)}.
+         *
+         * @param propertyName The name of the dynamic properties to obfuscate.
+         * @param obfuscator The obfuscator to use.
+         * @return This object.
+         * @throws NullPointerException If the given property name or obfuscator is {@code null}.
+         * @since 2.1
+         */
+        public Builder withDynamicPropertyObfuscator(String propertyName, Obfuscator obfuscator) {
+            Objects.requireNonNull(propertyName);
+            Objects.requireNonNull(obfuscator);
+
+            if (dynamicPropertyObfuscators == null) {
+                dynamicPropertyObfuscators = new HashMap<>();
+            }
+            dynamicPropertyObfuscators.put(propertyName, obfuscator);
+            return this;
+        }
+
+        /**
+         * Sets the possible values of a type. This allows the obfuscated representations of these values to be computed once per property
+         * instead of each time an {@link Obfuscated} value of the type is converted to a string.
+         * <p>
+         * Enum types and {@link Boolean} don't need to be registered; their values are detected automatically. Registered values take precedence,
+         * and only apply to the exact type, not to sub types. Values of {@link Obfuscated} properties that are not part of the registered values are
+         * obfuscated as usual.
+         * <p>
+         * The obfuscated representations are computed when deserializers are created and after {@link ObfuscationModule#reload(Builder)}.
+         * They are only used for {@link Obfuscated} properties that are not deeply obfuscated; {@link List}, {@link Set}, {@link Collection} and
+         * {@link Map} properties obfuscate their elements as usual.
+         *
+         * @param type The type to set the possible values for.
+         * @param values The possible values. These should use value-based equality.
+         * @return This object.
+         * @throws NullPointerException If the given type or collection of values is {@code null}, or if any of the values is {@code null}.
+         * @since 2.1
+         */
+        public Builder withFiniteDomain(Class<?> type, Collection<?> values) {
+            Objects.requireNonNull(type);
+            List<Object> valueList = List.copyOf(values);
+
+            if (finiteDomains == null) {
+                finiteDomains = new HashMap<>();
+            }
+            finiteDomains.put(type, valueList);
+            return this;
+        }
+
+        /**
+         * Sets the listener to notify of the work done by the module. The default is {@code null}, which means no listener is notified.
+         *
+         * @param metricsListener The listener to notify, or {@code null} to not notify any listener.
+         * @return This object.
+         * @since 2.1
+         */
+        public Builder withMetricsListener(ObfuscationMetricsListener metricsListener) {
+            this.metricsListener = metricsListener;
+            return this;
+        }
+
+        /**
+         * Sets whether or not the module should emit JDK Flight Recorder events. The default is {@code false}.
+         * <p>
+         * If enabled, the following events are emitted when enabled in a recording:
+         * <ul>
+         * <li>{@code com.github.robtimus.obfuscation.jackson.databind.ValueDeserialized} when a property value has been obfuscated during
+         *     deserialization, with the bean type, property name, generic element/value type, obfuscator class and value length.</li>
+         * <li>{@code com.github.robtimus.obfuscation.jackson.databind.RepresentationComputed} when the character representation of an obfuscated
+         *     value has been computed, with the generic element/value type, character representation provider class and length.</li>
+         * </ul>
+         * If disabled, these events are never emitted, not even if a recording enables them.
+         * <p>
+         * The {@code jdk.jfr} module is an optional dependency. If it's not available at runtime, for instance in a custom runtime image that
+         * does not include it, no events are emitted.
+         *
+         * @param flightRecorderEvents {@code true} to emit JDK Flight Recorder events, or {@code false} otherwise.
+         * @return This object.
+         * @since 2.1
+         */
+        public Builder flightRecorderEvents(boolean flightRecorderEvents) {
+            this.flightRecorderEvents = flightRecorderEvents;
+            return this;
+        }
+
+        /**
+         * Sets the factory to use to recreate the module after it has been deserialized. The default is {@code null}, which means that the
+         * settings of the module are serialized.
+         * <p>
+         * If set, only the factory is serialized, and deserializing the module returns the result of calling {@link Factory#create()}.
+         * This allows modules to be serialized even if their object factory, obfuscators, character representation providers or metrics
+         * listener are not serializable. Note that any {@link ObfuscationModule#reload(Builder) reloaded} settings are not serialized; the factory
+         * should return a module with the settings that should apply after deserialization.
+         *
+         * @param serializationFactory The factory to use to recreate the module, or {@code null} to serialize the module's settings.
+         * @return This object.
+         * @since 2.1
+         */
+        public Builder serializeUsing(Factory serializationFactory) {
+            this.serializationFactory = serializationFactory;
+            return this;
+        }
+
         /**
          * Creates a new {@link ObfuscationModule} with the current settings of this builder.
          *
@@ -267,4 +872,193 @@ public final class ObfuscationModule extends JacksonModule {
             return new ObfuscationModule(this);
         }
     }
+
+    /**
+     * A named set of default obfuscators that can be selected when deserializing values.
+     * This allows one {@link tools.jackson.databind.ObjectMapper ObjectMapper} to obfuscate values differently depending on where the values
+     * will end up, without the need to create separate modules and mappers for each.
+     * <p>
+     * A profile is selected by setting it as attribute on an {@link ObjectReader}, using {@code Profile.class} as the attribute key.
+     * {@link #applyTo(ObjectReader)} can be used for that:
+     * <pre><code>
+     * ObjectReader reader = module.profile("audit").applyTo(mapper.readerFor(MyClass.class));
+     * </code></pre>
+     * If no profile is selected, or if the selected profile was not defined for the module that is registered with the mapper, the module's
+     * own settings are used.
+     * <p>
+     * Profiles only affect default obfuscators. Obfuscators defined in property annotations are used for all profiles.
+     * The order used to look up obfuscators for properties when a profile is selected is as follows:
+     * <ol>
+     * <li>The obfuscator defined in the property's own annotations.</li>
+     * <li>The default obfuscator defined for the profile for the property's generic element/value type.</li>
+     * <li>The default obfuscator defined for the module for the property's generic element/value type.</li>
+     * <li>The obfuscator defined in the class annotations of the property's generic element/value type.</li>
+     * <li>The default obfuscator defined for the profile, or the global default obfuscator if the profile has none.</li>
+     * </ol>
+     * Obfuscators are resolved for all profiles when a deserializer is created, and again after the module has been
+     * {@link ObfuscationModule#reload(Builder) reloaded}. Selecting a profile therefore only costs an attribute lookup per obfuscated value.
+     *
+     * @author Rob Spoor
+     * @since 2.1
+     */
+    public static final class Profile {
+
+        private final String name;
+        final int index;
+
+        private Profile(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        /**
+         * Returns the name of this profile.
+         *
+         * @return The name of this profile.
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Returns an {@link ObjectReader} that uses this profile.
+         *
+         * @param reader The reader to use this profile.
+         * @return An {@link ObjectReader} that is equivalent to the given reader, but with this profile set as attribute.
+         * @throws NullPointerException If the given reader is {@code null}.
+         */
+        public ObjectReader applyTo(ObjectReader reader) {
+            return reader.withAttribute(Profile.class, this);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * A factory for {@link ObfuscationModule ObfuscationModules}. This is used to recreate modules after they have been deserialized.
+     * Implementations should be serializable without depending on the module they recreate, for instance by using a lambda or method reference:
+     * <pre><code>
+     * ObfuscationModule module = createModule();
+     * ...
+     * private static ObfuscationModule createModule() {
+     *     return ObfuscationModule.builder()
+     *             .withDefaultObfuscator(Obfuscator.fixedLength(8))
+     *             .serializeUsing(MyClass::createModule)
+     *             .build();
+     * }
+     * </code></pre>
+     *
+     * @author Rob Spoor
+     * @see Builder#serializeUsing(Factory)
+     * @since 2.1
+     */
+    @FunctionalInterface
+    public interface Factory extends Serializable {
+
+        /**
+         * Creates a new {@link ObfuscationModule}.
+         *
+         * @return The created {@link ObfuscationModule}.
+         */
+        ObfuscationModule create();
+    }
+
+    private static final class ProfileSettings {
+
+        private Obfuscator defaultObfuscator;
+
+        private final Map<Class<?>, Obfuscator> classObfuscators = new HashMap<>();
+        private final Map<Class<?>, Obfuscator> interfaceObfuscators = new HashMap<>();
+    }
+
+    private static final class SerializedForm implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean defaultModule;
+
+        private final ObjectFactory objectFactory; // NOSONAR
+        private final String[] profileNames;
+        private final ObfuscationSettings settings;
+        private final boolean requireObfuscatorAnnotation;
+        private final boolean reloadable;
+        private final boolean preserveObfuscatedOnConversion;
+        private final boolean primitiveNumericLists;
+        private final int defaultMaxLength;
+        private final int defaultMaxElements;
+        private final Class<?>[] deepObfuscationTypes;
+        private final Map<String, Obfuscator> dynamicPropertyObfuscators; // NOSONAR
+        private final Map<Class<?>, List<Object>> finiteDomains; // NOSONAR
+        private final ObfuscationMetricsListener metricsListener; // NOSONAR
+        private final boolean flightRecorderEvents;
+
+        private SerializedForm(ObfuscationModule module) {
+            defaultModule = module == DEFAULT_MODULE;
+
+            objectFactory = module.objectFactory;
+            profileNames = Arrays.stream(module.profiles)
+                    .map(Profile::name)
+                    .toArray(String[]::new);
+            settings = module.settings;
+            requireObfuscatorAnnotation = module.requireObfuscatorAnnotation;
+            reloadable = module.reloadable;
+            preserveObfuscatedOnConversion = module.preserveObfuscatedOnConversion;
+            primitiveNumericLists = module.primitiveNumericLists;
+            defaultMaxLength = module.defaultMaxLength;
+            defaultMaxElements = module.defaultMaxElements;
+            deepObfuscationTypes = Stream.concat(module.classDeepObfuscationTypes.keySet().stream(),
+                    module.interfaceDeepObfuscationTypes.keySet().stream())
+                    .toArray(Class<?>[]::new);
+            dynamicPropertyObfuscators = module.dynamicPropertyObfuscators;
+            finiteDomains = new HashMap<>();
+            module.finiteDomains.forEach((type, finiteDomain) -> finiteDomains.put(type, finiteDomain.values()));
+            metricsListener = module.monitor != null ? module.monitor.listener() : null;
+            flightRecorderEvents = module.monitor != null && module.monitor.flightRecorderEvents();
+        }
+
+        private Object readResolve() {
+            if (defaultModule) {
+                return DEFAULT_MODULE;
+            }
+            Builder builder = builder()
+                    .withObjectFactory(objectFactory)
+                    .requireObfuscatorAnnotation(requireObfuscatorAnnotation)
+                    .reloadable(reloadable)
+                    .preserveObfuscatedOnConversion(preserveObfuscatedOnConversion)
+                    .primitiveNumericLists(primitiveNumericLists)
+                    .withDefaultMaxLength(defaultMaxLength)
+                    .withDefaultMaxElements(defaultMaxElements)
+                    .withMetricsListener(metricsListener)
+                    .flightRecorderEvents(flightRecorderEvents);
+            for (Class<?> type : deepObfuscationTypes) {
+                builder.withDeepObfuscation(type);
+            }
+            dynamicPropertyObfuscators.forEach(builder::withDynamicPropertyObfuscator);
+            finiteDomains.forEach(builder::withFiniteDomain);
+            return new ObfuscationModule(builder, createProfiles(Arrays.asList(profileNames)), settings);
+        }
+    }
+
+    private static final class FactoryForm implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Factory factory;
+
+        private FactoryForm(Factory factory) {
+            this.factory = factory;
+        }
+
+        @SuppressWarnings("nls")
+        private Object readResolve() throws ObjectStreamException {
+            ObfuscationModule module = factory.create();
+            if (module == null) {
+                throw new InvalidObjectException("Factory returned null: " + factory);
+            }
+            return module;
+        }
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * ObfuscationMonitor.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.Collection;
+import java.util.Map;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import tools.jackson.databind.BeanProperty;
+
+// Reports work done by an ObfuscationModule to a metrics listener and/or as JFR events.
+// Instances only exist if at least one of these is enabled; if not, callers only need a null check.
+final class ObfuscationMonitor {
+
+    // The jdk.jfr module is optional; FlightRecorderEvents must not be used if it's not available
+    private static final boolean FLIGHT_RECORDER_AVAILABLE = flightRecorderAvailable();
+
+    private final ObfuscationMetricsListener listener;
+    // as requested; events are only emitted if the jdk.jfr module is available as well
+    private final boolean flightRecorderEvents;
+    private final boolean emitEvents;
+
+    private ObfuscationMonitor(ObfuscationMetricsListener listener, boolean flightRecorderEvents) {
+        this.listener = listener;
+        this.flightRecorderEvents = flightRecorderEvents;
+        this.emitEvents = flightRecorderEvents && FLIGHT_RECORDER_AVAILABLE;
+        if (emitEvents) {
+            FlightRecorderEvents.register();
+        }
+    }
+
+    @SuppressWarnings("nls")
+    private static boolean flightRecorderAvailable() {
+        Module module = ObfuscationMonitor.class.getModule();
+        ModuleLayer layer = module.getLayer() != null ? module.getLayer() : ModuleLayer.boot();
+        return layer.findModule("jdk.jfr")
+                .map(jfr -> {
+                    // The dependency on jdk.jfr is static, so it may need to be added explicitly
+                    if (!module.canRead(jfr)) {
+                        module.addReads(jfr);
+                    }
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    static ObfuscationMonitor create(ObfuscationMetricsListener listener, boolean flightRecorderEvents) {
+        return listener != null || flightRecorderEvents
+                ? new ObfuscationMonitor(listener, flightRecorderEvents)
+                : null;
+    }
+
+    ObfuscationMetricsListener listener() {
+        return listener;
+    }
+
+    boolean flightRecorderEvents() {
+        return flightRecorderEvents;
+    }
+
+    void valueDeserialized(Class<?> beanType, BeanProperty property, Class<?> valueType, Obfuscator obfuscator, Object value) {
+        if (emitEvents) {
+            FlightRecorderEvents.valueDeserialized(beanType, property.getName(), valueType, obfuscator.getClass(), valueLength(value));
+        }
+        if (listener != null) {
+            listener.valueDeserialized(beanType, property.getName(), valueType, obfuscator);
+        }
+    }
+
+    private static int valueLength(Object value) {
+        if (value instanceof CharSequence charSequence) {
+            return charSequence.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        return -1;
+    }
+
+    // beanType and property are null for values that are not bean properties
+    void valueSerialized(Class<?> beanType, BeanProperty property, Object value) {
+        if (listener != null) {
+            listener.valueSerialized(beanType, property != null ? property.getName() : null, value.getClass());
+        }
+    }
+
+    CharacterRepresentationProvider monitor(CharacterRepresentationProvider provider, Class<?> valueType) {
+        return value -> {
+            Object event = emitEvents ? FlightRecorderEvents.beginRepresentationComputed() : null;
+            long start = listener != null ? System.nanoTime() : 0;
+
+            CharSequence result = provider.toCharSequence(value);
+
+            if (listener != null) {
+                listener.representationComputed(valueType, result.length(), System.nanoTime() - start);
+            }
+            if (event != null) {
+                FlightRecorderEvents.endRepresentationComputed(event, valueType, provider.getClass(), result.length());
+            }
+            return result;
+        };
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * ObfuscationPlan.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.Arrays;
+import java.util.Objects;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModule.Profile;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.DatabindContext;
+import tools.jackson.databind.annotation.JsonDeserialize;
+
+// Determines how to obfuscate the values of one property, based on the current settings of an ObfuscationModule
+final class ObfuscationPlan {
+
+    private final ObfuscationModule module;
+    private final TypeAnnotationCache typeAnnotationCache;
+    private final Class<?> beanType;
+    // the generic element/value type
+    private final Class<?> type;
+    private final boolean useDefaultObfuscator;
+    private final boolean deepObfuscation;
+    // null if the property's values are not limited in size
+    private final SizeLimits sizeLimits;
+    // null if the type has no finite domain
+    private final FiniteDomain finiteDomain;
+
+    // null if the property's annotations do not define an obfuscator
+    private final Obfuscator propertyObfuscator;
+    // null if the property's annotations do not define a character representation provider
+    private final CharacterRepresentationProvider propertyCharacterRepresentationProvider;
+    // true if the property's annotations define how its values are deserialized
+    private final boolean customDeserialization;
+
+    // Not volatile; Resolution instances are immutable, so at worst another thread resolves the same settings again
+    private Resolution resolution;
+
+    ObfuscationPlan(ObfuscationModule module, TypeAnnotationCache typeAnnotationCache, Class<?> beanType, BeanProperty property, Class<?> type,
+            boolean useDefaultObfuscator) {
+
+        this.module = module;
+        this.typeAnnotationCache = typeAnnotationCache;
+        this.beanType = beanType;
+        this.type = type;
+        this.useDefaultObfuscator = useDefaultObfuscator;
+        this.deepObfuscation = module.deepObfuscation(type);
+        this.sizeLimits = module.sizeLimits(property.getAnnotation(ObfuscationLimits.class));
+        this.finiteDomain = module.finiteDomain(type);
+
+        // The annotations are read once, so plans don't keep the property and with it the mapper's configuration
+        propertyObfuscator = typeAnnotationCache.objectFactory().obfuscator(property::getAnnotation).orElse(null);
+        propertyCharacterRepresentationProvider = typeAnnotationCache.objectFactory()
+                .characterRepresentationProvider(property::getAnnotation)
+                .orElse(null);
+        customDeserialization = property.getAnnotation(JsonDeserialize.class) != null;
+
+        resolution = resolve(module.settings());
+    }
+
+    boolean isApplicable() {
+        if (useDefaultObfuscator || propertyObfuscator != null) {
+            return true;
+        }
+        if (module.requireObfuscatorAnnotation()) {
+            return false;
+        }
+        // If the module is reloadable, properties that are not obfuscated now may be obfuscated after reloading
+        return module.reloadable() || resolution.obfuscates();
+    }
+
+    Class<?> beanType() {
+        return beanType;
+    }
+
+    boolean hasPropertyObfuscator() {
+        return propertyObfuscator != null;
+    }
+
+    Class<?> type() {
+        return type;
+    }
+
+    // returns null if lists of the type should not be backed by primitive arrays
+    PrimitiveLists.Reader primitiveListReader() {
+        if (!module.primitiveNumericLists() || customDeserialization) {
+            return null;
+        }
+        return PrimitiveLists.reader(type);
+    }
+
+    SizeLimits sizeLimits() {
+        return sizeLimits;
+    }
+
+    boolean deepObfuscation() {
+        return deepObfuscation;
+    }
+
+    ObfuscationMonitor monitor() {
+        return module.monitor();
+    }
+
+    Resolution resolution() {
+        // This is the only volatile read
+        ObfuscationSettings settings = module.settings();
+        Resolution current = resolution;
+        if (current.settings != settings) {
+            current = resolve(settings);
+            resolution = current;
+        }
+        return current;
+    }
+
+    private Resolution resolve(ObfuscationSettings settings) {
+        Profile[] profiles = module.profiles();
+        // index 0 is for the module's own settings, index i for profiles[i - 1]
+        Obfuscator[] obfuscators = new Obfuscator[profiles.length + 1];
+
+        if (propertyObfuscator != null) {
+            // Annotations take precedence over anything defined in settings or profiles
+            Arrays.fill(obfuscators, propertyObfuscator);
+        } else if (useDefaultObfuscator || !module.requireObfuscatorAnnotation()) {
+            Obfuscator typeObfuscator = findTypeObfuscator(settings);
+            obfuscators[0] = typeObfuscator == null && useDefaultObfuscator ? settings.defaultObfuscator() : typeObfuscator;
+
+            for (Profile profile : profiles) {
+                Obfuscator obfuscator = settings.findClassSpecificObfuscator(profile, type);
+                if (obfuscator == null) {
+                    obfuscator = typeObfuscator;
+                }
+                if (obfuscator == null && useDefaultObfuscator) {
+                    obfuscator = settings.defaultObfuscator(profile);
+                }
+                obfuscators[profile.index] = obfuscator;
+            }
+        }
+
+        boolean obfuscates = Arrays.stream(obfuscators).anyMatch(Objects::nonNull);
+        // Only look up the character representation provider if it's actually needed
+        CharacterRepresentationProvider characterRepresentationProvider = obfuscates ? findCharacterRepresentationProvider(settings) : null;
+        boolean defaultCharacterRepresentation = false;
+        if (obfuscates && characterRepresentationProvider == null) {
+            characterRepresentationProvider = ArrayRepresentations.defaultInstance(type);
+            defaultCharacterRepresentation = true;
+        }
+
+        // Computed before monitoring, as the representations of the domain's values are computed only once
+        String[][] precomputedRepresentations = precomputeRepresentations(obfuscators, characterRepresentationProvider);
+
+        ObfuscationMonitor monitor = module.monitor();
+        if (monitor != null && characterRepresentationProvider != null) {
+            characterRepresentationProvider = monitor.monitor(characterRepresentationProvider, type);
+            // Every use of the character representation provider must be monitored
+            defaultCharacterRepresentation = false;
+        }
+
+        return new Resolution(settings, obfuscators, profiles, characterRepresentationProvider, defaultCharacterRepresentation, finiteDomain,
+                precomputedRepresentations);
+    }
+
+    private String[][] precomputeRepresentations(Obfuscator[] obfuscators, CharacterRepresentationProvider characterRepresentationProvider) {
+        if (finiteDomain == null || characterRepresentationProvider == null) {
+            return null;
+        }
+        String[][] precomputedRepresentations = new String[obfuscators.length][];
+        for (int i = 0; i < obfuscators.length; i++) {
+            Obfuscator obfuscator = obfuscators[i];
+            if (obfuscator != null) {
+                // Obfuscators are often shared between the module and its profiles
+                int existing = indexOf(obfuscators, obfuscator, i);
+                precomputedRepresentations[i] = existing != -1
+                        ? precomputedRepresentations[existing]
+                        : finiteDomain.representations(obfuscator, characterRepresentationProvider);
+            }
+        }
+        return precomputedRepresentations;
+    }
+
+    private static int indexOf(Obfuscator[] obfuscators, Obfuscator obfuscator, int end) {
+        for (int i = 0; i < end; i++) {
+            if (obfuscators[i] == obfuscator) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Obfuscator findTypeObfuscator(ObfuscationSettings settings) {
+        Obfuscator obfuscator = settings.findClassSpecificObfuscator(type);
+        return obfuscator != null ? obfuscator : typeAnnotationCache.obfuscator(type).orElse(null);
+    }
+
+    // returns null if the default character representation provider for the type should be used
+    private CharacterRepresentationProvider findCharacterRepresentationProvider(ObfuscationSettings settings) {
+        if (propertyCharacterRepresentationProvider != null) {
+            return propertyCharacterRepresentationProvider;
+        }
+
+        CharacterRepresentationProvider provider = settings.findClassSpecificCharacterRepresentationProvider(type);
+        if (provider != null) {
+            return provider;
+        }
+        return typeAnnotationCache.characterRepresentationProvider(type).orElse(null);
+    }
+
+    static final class Resolution {
+
+        private final ObfuscationSettings settings;
+        // index 0 contains the obfuscator for the module's own settings, index i the obfuscator for profiles[i - 1]
+        // an obfuscator can be null, which means no obfuscation should occur
+        private final Obfuscator[] obfuscators;
+        private final Profile[] profiles;
+        // null if no obfuscation occurs at all
+        final CharacterRepresentationProvider characterRepresentationProvider;
+        // true if characterRepresentationProvider is the type's default and is not monitored, so it can be bypassed for primitive values
+        final boolean defaultCharacterRepresentation;
+        // null if the type has no finite domain
+        private final FiniteDomain finiteDomain;
+        // null if nothing was precomputed; otherwise index i contains the domain's representations obfuscated using obfuscators[i]
+        private final String[][] precomputedRepresentations;
+
+        private Resolution(ObfuscationSettings settings, Obfuscator[] obfuscators, Profile[] profiles,
+                CharacterRepresentationProvider characterRepresentationProvider, boolean defaultCharacterRepresentation, FiniteDomain finiteDomain,
+                String[][] precomputedRepresentations) {
+
+            this.settings = settings;
+            this.obfuscators = obfuscators;
+            this.profiles = profiles;
+            this.characterRepresentationProvider = characterRepresentationProvider;
+            this.defaultCharacterRepresentation = defaultCharacterRepresentation;
+            this.finiteDomain = finiteDomain;
+            this.precomputedRepresentations = precomputedRepresentations;
+        }
+
+        Obfuscator obfuscator(DatabindContext ctxt) {
+            // Only check the attributes if there are any profiles
+            if (profiles.length > 0 && ctxt.getAttribute(Profile.class) instanceof Profile profile) {
+                int index = profile.index;
+                // Make sure that the profile belongs to the same module
+                if (index <= profiles.length && profiles[index - 1] == profile) {
+                    return obfuscators[index];
+                }
+            }
+            return obfuscators[0];
+        }
+
+        // returns null if the value's obfuscated representation was not precomputed
+        String precomputedRepresentation(Obfuscator obfuscator, Object value) {
+            if (precomputedRepresentations == null) {
+                return null;
+            }
+            int valueIndex = finiteDomain.indexOf(value);
+            if (valueIndex == -1) {
+                return null;
+            }
+            for (int i = 0; i < obfuscators.length; i++) {
+                if (obfuscators[i] == obfuscator) {
+                    return precomputedRepresentations[i][valueIndex];
+                }
+            }
+            return null;
+        }
+
+        private boolean obfuscates() {
+            return characterRepresentationProvider != null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * ObfuscationPlanCache.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.lang.reflect.Member;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import com.github.robtimus.obfuscation.annotation.ObjectFactory;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.cfg.MapperConfigBase;
+import tools.jackson.databind.introspect.AnnotatedMember;
+import tools.jackson.databind.introspect.AnnotatedParameter;
+
+// Caches the type annotations and obfuscation plans for one module.
+// The module owns this cache, so it's shared by all mappers the module is registered with, including rebuilt ones. Deserializers and
+// serializers for the same bean types then don't need to look up annotations and create obfuscators and character representation providers
+// again.
+final class ObfuscationPlanCache {
+
+    // One cache per object factory; there is only one if the module has a custom object factory, and at most two otherwise
+    private final ConcurrentMap<ObjectFactory, TypeAnnotationCache> typeAnnotationCaches = new ConcurrentHashMap<>();
+
+    // The plans are stored with their bean types, so this cache doesn't keep bean types and their class loaders alive.
+    // Plans refer to the module though, so the module stays reachable as long as a bean type it created plans for is loaded.
+    // Plans only keep the module, annotation values and types; not the bean properties or anything else that belongs to a mapper.
+    private final ClassValue<ConcurrentMap<PlanKey, Optional<ObfuscationPlan>>> plans = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<PlanKey, Optional<ObfuscationPlan>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    TypeAnnotationCache typeAnnotationCache(ObjectFactory objectFactory) {
+        return typeAnnotationCaches.computeIfAbsent(objectFactory, TypeAnnotationCache::new);
+    }
+
+    Optional<ObfuscationPlan> plan(MapperConfigBase<?, ?> config, ObjectFactory objectFactory, Class<?> beanType, BeanProperty property,
+            Supplier<Optional<ObfuscationPlan>> planFactory) {
+
+        PlanKey key = planKey(config, objectFactory, property);
+        if (key == null) {
+            return planFactory.get();
+        }
+        ConcurrentMap<PlanKey, Optional<ObfuscationPlan>> beanPlans = plans.get(beanType);
+        Optional<ObfuscationPlan> plan = beanPlans.get(key);
+        if (plan == null) {
+            // Don't use computeIfAbsent; object factories may use other caches, and they may fail
+            plan = planFactory.get();
+            Optional<ObfuscationPlan> existing = beanPlans.putIfAbsent(key, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    // returns null if plans for the property cannot be shared
+    private static PlanKey planKey(MapperConfigBase<?, ?> config, ObjectFactory objectFactory, BeanProperty property) {
+        // Mix-ins can add annotations that differ between mappers; the annotations of the member itself are the same for every mapper
+        if (config.mixInCount() > 0) {
+            return null;
+        }
+        AnnotatedMember annotatedMember = property.getMember();
+        Member member = annotatedMember != null ? annotatedMember.getMember() : null;
+        if (member == null) {
+            return null;
+        }
+        int parameterIndex = annotatedMember instanceof AnnotatedParameter parameter ? parameter.getIndex() : -1;
+        // Without annotation processing, members have no annotations at all
+        return new PlanKey(objectFactory, config.isAnnotationProcessingEnabled(), property.getName(), member, parameterIndex, property.getType());
+    }
+
+    // The members and types belong to the bean type or to types that are visible to it, so they don't keep any other class loaders alive
+    private record PlanKey(ObjectFactory objectFactory, boolean annotationProcessingEnabled, String propertyName, Member member, int parameterIndex,
+            JavaType propertyType) {
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * ObfuscationSettings.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static com.github.robtimus.obfuscation.jackson.databind.ObfuscatedBeanDeserializerModifier.findClassSpecificObject;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModule.Profile;
+
+// An immutable snapshot of the reloadable settings of an ObfuscationModule
+final class ObfuscationSettings implements Serializable {
+
+    // Note: instances are only serializable if the Obfuscator and CharacterRepresentationProvider instances are.
+    private static final long serialVersionUID = 1L;
+
+    static final Obfuscator DEFAULT_OBFUSCATOR = Obfuscator.fixedLength(3);
+
+    // null if DEFAULT_OBFUSCATOR should be used; this prevents the default obfuscator from being serialized
+    private final Obfuscator customDefaultObfuscator; // NOSONAR
+
+    private final Map<Class<?>, Obfuscator> classObfuscators; // NOSONAR
+    private final Map<Class<?>, Obfuscator> interfaceObfuscators; // NOSONAR
+
+    private final Map<Class<?>, CharacterRepresentationProvider> classCharacterRepresentationProviders; // NOSONAR
+    private final Map<Class<?>, CharacterRepresentationProvider> interfaceCharacterRepresentationProviders; // NOSONAR
+
+    // index i contains the obfuscators for the profile with index i + 1
+    private final ProfileObfuscators[] profileObfuscators;
+
+    // Snapshots are immutable, so the results of class-specific lookups can be cached.
+    // This prevents type hierarchies from being walked for each property with the same generic element/value type.
+    private final transient ConcurrentMap<Class<?>, Optional<Obfuscator>> classSpecificObfuscators = new ConcurrentHashMap<>();
+    private final transient ConcurrentMap<Class<?>, Optional<CharacterRepresentationProvider>> classSpecificCharacterRepresentationProviders =
+            new ConcurrentHashMap<>();
+
+    ObfuscationSettings(Obfuscator defaultObfuscator,
+            Map<Class<?>, Obfuscator> classObfuscators,
+            Map<Class<?>, Obfuscator> interfaceObfuscators,
+            Map<Class<?>, CharacterRepresentationProvider> classCharacterRepresentationProviders,
+            Map<Class<?>, CharacterRepresentationProvider> interfaceCharacterRepresentationProviders,
+            ProfileObfuscators[] profileObfuscators) {
+
+        this.customDefaultObfuscator = defaultObfuscator == DEFAULT_OBFUSCATOR ? null : defaultObfuscator;
+
+        this.classObfuscators = classObfuscators;
+        this.interfaceObfuscators = interfaceObfuscators;
+        this.classCharacterRepresentationProviders = classCharacterRepresentationProviders;
+        this.interfaceCharacterRepresentationProviders = interfaceCharacterRepresentationProviders;
+
+        this.profileObfuscators = profileObfuscators;
+    }
+
+    Obfuscator defaultObfuscator() {
+        return customDefaultObfuscator != null ? customDefaultObfuscator : DEFAULT_OBFUSCATOR;
+    }
+
+    Obfuscator defaultObfuscator(Profile profile) {
+        Obfuscator obfuscator = profileObfuscators[profile.index - 1].defaultObfuscator;
+        return obfuscator != null ? obfuscator : defaultObfuscator();
+    }
+
+    Obfuscator findClassSpecificObfuscator(Class<?> type) {
+        return findCachedClassSpecificObject(type, classObfuscators, interfaceObfuscators, classSpecificObfuscators);
+    }
+
+    Obfuscator findClassSpecificObfuscator(Profile profile, Class<?> type) {
+        ProfileObfuscators obfuscators = profileObfuscators[profile.index - 1];
+        return findCachedClassSpecificObject(type, obfuscators.classObfuscators, obfuscators.interfaceObfuscators,
+                obfuscators.classSpecificObfuscators);
+    }
+
+    CharacterRepresentationProvider findClassSpecificCharacterRepresentationProvider(Class<?> type) {
+        return findCachedClassSpecificObject(type, classCharacterRepresentationProviders, interfaceCharacterRepresentationProviders,
+                classSpecificCharacterRepresentationProviders);
+    }
+
+    private static <T> T findCachedClassSpecificObject(Class<?> type, Map<Class<?>, T> classMappings, Map<Class<?>, T> interfaceMappings,
+            ConcurrentMap<Class<?>, Optional<T>> cache) {
+
+        if (classMappings.isEmpty() && interfaceMappings.isEmpty()) {
+            // nothing to look up, so nothing to cache
+            return null;
+        }
+        return cache.computeIfAbsent(type, t -> Optional.ofNullable(findClassSpecificObject(t, classMappings, interfaceMappings)))
+                .orElse(null);
+    }
+
+    // returns all obfuscators and character representation providers, including those of profiles
+    List<Object> objects() {
+        List<Object> objects = new ArrayList<>();
+        if (customDefaultObfuscator != null) {
+            objects.add(customDefaultObfuscator);
+        }
+        objects.addAll(classObfuscators.values());
+        objects.addAll(interfaceObfuscators.values());
+        objects.addAll(classCharacterRepresentationProviders.values());
+        objects.addAll(interfaceCharacterRepresentationProviders.values());
+        for (ProfileObfuscators obfuscators : profileObfuscators) {
+            if (obfuscators.defaultObfuscator != null) {
+                objects.add(obfuscators.defaultObfuscator);
+            }
+            objects.addAll(obfuscators.classObfuscators.values());
+            objects.addAll(obfuscators.interfaceObfuscators.values());
+        }
+        return objects;
+    }
+
+    private Object readResolve() {
+        // Restores the transient caches
+        return new ObfuscationSettings(customDefaultObfuscator,
+                classObfuscators, interfaceObfuscators,
+                classCharacterRepresentationProviders, interfaceCharacterRepresentationProviders,
+                profileObfuscators);
+    }
+
+    static final class ProfileObfuscators implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        static final ProfileObfuscators NONE = new ProfileObfuscators(null, Collections.emptyMap(), Collections.emptyMap());
+
+        // null if the module's default obfuscator should be used
+        private final Obfuscator defaultObfuscator; // NOSONAR
+
+        private final Map<Class<?>, Obfuscator> classObfuscators; // NOSONAR
+        private final Map<Class<?>, Obfuscator> interfaceObfuscators; // NOSONAR
+
+        private final transient ConcurrentMap<Class<?>, Optional<Obfuscator>> classSpecificObfuscators = new ConcurrentHashMap<>();
+
+        ProfileObfuscators(Obfuscator defaultObfuscator, Map<Class<?>, Obfuscator> classObfuscators, Map<Class<?>, Obfuscator> interfaceObfuscators) {
+            this.defaultObfuscator = defaultObfuscator;
+            this.classObfuscators = classObfuscators;
+            this.interfaceObfuscators = interfaceObfuscators;
+        }
+
+        private Object readResolve() {
+            // Restores the transient cache
+            return new ProfileObfuscators(defaultObfuscator, classObfuscators, interfaceObfuscators);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * ParallelReader.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.exc.MismatchedInputException;
+import tools.jackson.databind.util.TokenBuffer;
+
+/**
+ * A reader for large JSON arrays or sequences of JSON values, like NDJSON, that deserializes values in parallel.
+ * <p>
+ * The input is read by the thread that consumes the returned {@link Stream}, one value at a time. Each value is buffered, and buffered values
+ * are deserialized in chunks using an {@link Executor}. The deserialized values are returned in the same order as they appear in the input.
+ * The number of chunks that are deserialized or waiting to be consumed is limited, so memory usage is limited as well, regardless of the size
+ * of the input.
+ * <p>
+ * All chunks are deserialized using the same {@link ObjectReader}, and therefore the same cached deserializers. Any attributes of the
+ * reader, like a {@link ObfuscationModule.Profile Profile}, apply to all values.
+ * <p>
+ * The returned streams must be closed after use, to close the input.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author Rob Spoor
+ * @param <T> The type of values to read.
+ * @since 2.1
+ */
+public final class ParallelReader<T> {
+
+    private final ObjectReader reader;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+
+    private ParallelReader(Builder<T> builder) {
+        this.reader = builder.reader;
+        this.executor = builder.executor;
+        this.chunkSize = builder.chunkSize;
+        this.maxPendingChunks = builder.maxPendingChunks;
+    }
+
+    /**
+     * Reads a JSON array, and returns its elements.
+     *
+     * @param input The input stream to read the JSON array from.
+     * @return A stream with the elements of the JSON array.
+     * @throws NullPointerException If the given input stream is {@code null}.
+     * @throws tools.jackson.core.JacksonException If the input does not start with a JSON array.
+     *                                                 Errors that occur while reading the elements are thrown by the returned stream.
+     */
+    public Stream<T> readArray(InputStream input) {
+        return readArray(reader.createParser(Objects.requireNonNull(input)));
+    }
+
+    /**
+     * Reads a JSON array, and returns its elements.
+     *
+     * @param input The reader to read the JSON array from.
+     * @return A stream with the elements of the JSON array.
+     * @throws NullPointerException If the given reader is {@code null}.
+     * @throws tools.jackson.core.JacksonException If the input does not start with a JSON array.
+     *                                                 Errors that occur while reading the elements are thrown by the returned stream.
+     */
+    public Stream<T> readArray(Reader input) {
+        return readArray(reader.createParser(Objects.requireNonNull(input)));
+    }
+
+    @SuppressWarnings("nls")
+    private Stream<T> readArray(JsonParser parser) {
+        JsonToken token = parser.nextToken();
+        if (token != JsonToken.START_ARRAY) {
+            parser.close();
+            throw MismatchedInputException.from(parser, reader.getValueType(), "Expected " + JsonToken.START_ARRAY + ", was " + token);
+        }
+        return stream(parser, true);
+    }
+
+    /**
+     * Reads a sequence of root-level JSON values, like NDJSON, and returns the values.
+     *
+     * @param input The input stream to read the JSON values from.
+     * @return A stream with the JSON values.
+     * @throws NullPointerException If the given input stream is {@code null}.
+     */
+    public Stream<T> readValues(InputStream input) {
+        return stream(reader.createParser(Objects.requireNonNull(input)), false);
+    }
+
+    /**
+     * Reads a sequence of root-level JSON values, like NDJSON, and returns the values.
+     *
+     * @param input The reader to read the JSON values from.
+     * @return A stream with the JSON values.
+     * @throws NullPointerException If the given reader is {@code null}.
+     */
+    public Stream<T> readValues(Reader input) {
+        return stream(reader.createParser(Objects.requireNonNull(input)), false);
+    }
+
+    private Stream<T> stream(JsonParser parser, boolean array) {
+        ChunkingSpliterator spliterator = new ChunkingSpliterator(parser, array);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(spliterator::close);
+    }
+
+    private List<T> deserialize(List<TokenBuffer> chunk) {
+        List<T> values = new ArrayList<>(chunk.size());
+        for (TokenBuffer buffer : chunk) {
+            try (JsonParser parser = buffer.asParser(ObjectReadContext.empty())) {
+                values.add(reader.readValue(parser));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns a builder that will create {@code ParallelReaders}.
+     *
+     * @param <T> The type of values to read.
+     * @param reader The reader to use for deserializing values. It will be {@link ObjectReader#forType(Class) configured} for the given type.
+     * @param type The type of values to read.
+     * @return A builder that will create {@code ParallelReaders}.
+     * @throws NullPointerException If the given reader or type is {@code null}.
+     */
+    public static <T> Builder<T> builder(ObjectReader reader, Class<T> type) {
+        return new Builder<>(reader.forType(Objects.requireNonNull(type)));
+    }
+
+    private final class ChunkingSpliterator extends Spliterators.AbstractSpliterator<T> {
+
+        private final JsonParser parser;
+        private final boolean array;
+
+        private final Deque<CompletableFuture<List<T>>> pendingChunks = new ArrayDeque<>();
+        private Iterator<T> currentChunk = Collections.emptyIterator();
+        private boolean inputExhausted = false;
+
+        private ChunkingSpliterator(JsonParser parser, boolean array) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.parser = parser;
+            this.array = array;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (!currentChunk.hasNext()) {
+                submitChunks();
+                CompletableFuture<List<T>> next = pendingChunks.poll();
+                if (next == null) {
+                    return false;
+                }
+                currentChunk = join(next).iterator();
+            }
+            action.accept(currentChunk.next());
+            return true;
+        }
+
+        private void submitChunks() {
+            while (!inputExhausted && pendingChunks.size() < maxPendingChunks) {
+                List<TokenBuffer> chunk = readChunk();
+                if (!chunk.isEmpty()) {
+                    pendingChunks.add(CompletableFuture.supplyAsync(() -> deserialize(chunk), executor));
+                }
+            }
+        }
+
+        private List<TokenBuffer> readChunk() {
+            List<TokenBuffer> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize) {
+                JsonToken token = parser.nextToken();
+                if (token == null || array && token == JsonToken.END_ARRAY) {
+                    inputExhausted = true;
+                    break;
+                }
+                // Only the tokens are copied; deserializing them is left to the executor
+                TokenBuffer buffer = TokenBuffer.forBuffering(parser, parser.objectReadContext());
+                buffer.copyCurrentStructure(parser);
+                chunk.add(buffer);
+            }
+            return chunk;
+        }
+
+        private List<T> join(CompletableFuture<List<T>> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        private void close() {
+            for (CompletableFuture<List<T>> future : pendingChunks) {
+                future.cancel(false);
+            }
+            pendingChunks.clear();
+            inputExhausted = true;
+            parser.close();
+        }
+    }
+
+    /**
+     * A builder for {@link ParallelReader ParallelReaders}.
+     *
+     * @author Rob Spoor
+     * @param <T> The type of values to read.
+     * @since 2.1
+     */
+    public static final class Builder<T> {
+
+        private final ObjectReader reader;
+        private Executor executor = ForkJoinPool.commonPool();
+        private int chunkSize = 1000;
+        private int maxPendingChunks = Runtime.getRuntime().availableProcessors() * 2;
+
+        private Builder(ObjectReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Sets the executor to use for deserializing chunks. The default is {@link ForkJoinPool#commonPool()}.
+         * This can also be an executor that uses virtual threads.
+         *
+         * @param executor The executor to use.
+         * @return This object.
+         * @throws NullPointerException If the given executor is {@code null}.
+         */
+        public Builder<T> withExecutor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of values per chunk. The default is {@code 1000}.
+         * Smaller chunks spread the work more evenly, larger chunks reduce the overhead per chunk.
+         *
+         * @param chunkSize The maximum number of values per chunk.
+         * @return This object.
+         * @throws IllegalArgumentException If the given chunk size is not positive.
+         */
+        @SuppressWarnings("nls")
+        public Builder<T> withChunkSize(int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of chunks that are deserialized or waiting to be consumed at the same time.
+         * The default is twice the number of available processors.
+         *
+         * @param maxPendingChunks The maximum number of pending chunks.
+         * @return This object.
+         * @throws IllegalArgumentException If the given maximum number of pending chunks is not positive.
+         */
+        @SuppressWarnings("nls")
+        public Builder<T> withMaxPendingChunks(int maxPendingChunks) {
+            if (maxPendingChunks <= 0) {
+                throw new IllegalArgumentException("maxPendingChunks must be positive: " + maxPendingChunks);
+            }
+            this.maxPendingChunks = maxPendingChunks;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link ParallelReader} with the current settings of this builder.
+         *
+         * @return The created {@link ParallelReader}.
+         */
+        public ParallelReader<T> build() {
+            return new ParallelReader<>(this);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * PrecomputedObfuscator.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.function.Supplier;
+import com.github.robtimus.obfuscation.Obfuscated;
+import com.github.robtimus.obfuscation.Obfuscator;
+
+// Creates Obfuscated instances with representations that are already obfuscated, like those of finite domains or deep obfuscation.
+// The Obfuscated instances keep the actual obfuscator, so any Obfuscated instances derived from them, for instance using map, are still
+// obfuscated. Only the precomputed representations themselves are passed through as-is.
+final class PrecomputedObfuscator extends Obfuscator {
+
+    private final Obfuscator obfuscator;
+
+    private PrecomputedObfuscator(Obfuscator obfuscator) {
+        this.obfuscator = obfuscator;
+    }
+
+    static <T> Obfuscated<T> obfuscateObject(T value, Obfuscator obfuscator, String obfuscatedRepresentation) {
+        Precomputed representation = new Precomputed(obfuscatedRepresentation);
+        return new PrecomputedObfuscator(obfuscator).obfuscateObject(value, () -> representation);
+    }
+
+    // The obfuscated representation is retrieved each time it's needed
+    static <T> Obfuscated<T> obfuscateObject(T value, Obfuscator obfuscator, Supplier<String> obfuscatedRepresentation) {
+        return new PrecomputedObfuscator(obfuscator).obfuscateObject(value, () -> new Precomputed(obfuscatedRepresentation.get()));
+    }
+
+    @Override
+    public CharSequence obfuscateText(CharSequence s, int start, int end) {
+        if (isPrecomputed(s, start, end)) {
+            return s.toString();
+        }
+        return obfuscator.obfuscateText(s, start, end);
+    }
+
+    @Override
+    public void obfuscateText(CharSequence s, int start, int end, StringBuilder destination) {
+        if (isPrecomputed(s, start, end)) {
+            destination.append(s.toString());
+        } else {
+            obfuscator.obfuscateText(s, start, end, destination);
+        }
+    }
+
+    @Override
+    public void obfuscateText(CharSequence s, int start, int end, Appendable destination) throws IOException {
+        if (isPrecomputed(s, start, end)) {
+            destination.append(s.toString());
+        } else {
+            obfuscator.obfuscateText(s, start, end, destination);
+        }
+    }
+
+    @Override
+    public void obfuscateText(Reader input, Appendable destination) throws IOException {
+        obfuscator.obfuscateText(input, destination);
+    }
+
+    @Override
+    public Writer streamTo(Appendable destination) {
+        return obfuscator.streamTo(destination);
+    }
+
+    private static boolean isPrecomputed(CharSequence s, int start, int end) {
+        // Parts of a precomputed representation are obfuscated like any other text
+        return s instanceof Precomputed && start == 0 && end == s.length();
+    }
+
+    @Override
+    @SuppressWarnings("nls")
+    public String toString() {
+        return getClass().getName() + "[obfuscator=" + obfuscator + "]";
+    }
+
+    // An obfuscated representation; this type lets PrecomputedObfuscator distinguish it from representations that still need obfuscating
+    private static final class Precomputed implements CharSequence {
+
+        private final String representation;
+
+        private Precomputed(String representation) {
+            this.representation = representation;
+        }
+
+        @Override
+        public int length() {
+            return representation.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return representation.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return representation.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return representation;
+        }
+    }
+}
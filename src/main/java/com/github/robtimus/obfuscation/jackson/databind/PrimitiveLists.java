@@ -0,0 +1,218 @@
+/*
+ * PrimitiveLists.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import com.github.robtimus.obfuscation.Obfuscator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.DeserializationContext;
+
+// Reads JSON arrays of integral numbers into immutable lists that are backed by primitive arrays.
+// This prevents creating a boxed object for each element; elements are only boxed when they are retrieved.
+final class PrimitiveLists {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private PrimitiveLists() {
+    }
+
+    // returns null if the element type is not supported
+    static Reader reader(Class<?> elementType) {
+        if (elementType == Integer.class) {
+            return PrimitiveLists::readInts;
+        }
+        if (elementType == Long.class) {
+            return PrimitiveLists::readLongs;
+        }
+        return null;
+    }
+
+    static List<Integer> readInts(JsonParser p, DeserializationContext ctxt, BeanProperty property) {
+        int[] values = new int[INITIAL_CAPACITY];
+        int size = 0;
+        JsonToken token;
+        while ((token = nextElementToken(p, ctxt, property)) != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, newCapacity(size));
+            }
+            values[size++] = token == JsonToken.VALUE_NUMBER_INT
+                    ? p.getIntValue()
+                    : nonNull(ctxt.readValue(p, Integer.class), ctxt, property);
+        }
+        return new IntList(values, size);
+    }
+
+    static List<Long> readLongs(JsonParser p, DeserializationContext ctxt, BeanProperty property) {
+        long[] values = new long[INITIAL_CAPACITY];
+        int size = 0;
+        JsonToken token;
+        while ((token = nextElementToken(p, ctxt, property)) != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, newCapacity(size));
+            }
+            values[size++] = token == JsonToken.VALUE_NUMBER_INT
+                    ? p.getLongValue()
+                    : nonNull(ctxt.readValue(p, Long.class), ctxt, property);
+        }
+        return new LongList(values, size);
+    }
+
+    // Returns the obfuscated representation of a list created by this class, with each element obfuscated separately, or null for other
+    // collections. The representation is built from the backing array, so no element is boxed.
+    static CharSequence obfuscatedRepresentation(Collection<?> collection, Obfuscator obfuscator) {
+        if (collection instanceof IntList list) {
+            return ArrayRepresentations.obfuscateElements(list.values, list.size, obfuscator);
+        }
+        if (collection instanceof LongList list) {
+            return ArrayRepresentations.obfuscateElements(list.values, list.size, obfuscator);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("nls")
+    private static JsonToken nextElementToken(JsonParser p, DeserializationContext ctxt, BeanProperty property) {
+        JsonToken token = p.nextToken();
+        if (token == null) {
+            ctxt.reportInputMismatch(property, "Unexpected end of input in array of property '%s'", property.getName());
+        }
+        return token;
+    }
+
+    private static int newCapacity(int size) {
+        // Grow by 50%, like ArrayList
+        return size + (size >> 1);
+    }
+
+    @SuppressWarnings("nls")
+    private static <T> T nonNull(T value, DeserializationContext ctxt, BeanProperty property) {
+        if (value == null) {
+            ctxt.reportInputMismatch(property, "Array of property '%s' contains a null element", property.getName());
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    interface Reader {
+
+        // The parser's current token must be START_ARRAY
+        List<?> read(JsonParser p, DeserializationContext ctxt, BeanProperty property);
+    }
+
+    private static final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+        private final int[] values;
+        private final int size;
+
+        private IntList(int[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            Objects.checkIndex(index, size);
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Integer value) {
+                int v = value;
+                for (int i = 0; i < size; i++) {
+                    if (values[i] == v) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            // Don't box each element
+            StringBuilder sb = new StringBuilder(size * 4 + 2).append('[');
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(values[i]);
+            }
+            return sb.append(']').toString();
+        }
+    }
+
+    private static final class LongList extends AbstractList<Long> implements RandomAccess {
+
+        private final long[] values;
+        private final int size;
+
+        private LongList(long[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public Long get(int index) {
+            Objects.checkIndex(index, size);
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Long value) {
+                long v = value;
+                for (int i = 0; i < size; i++) {
+                    if (values[i] == v) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            // Don't box each element
+            StringBuilder sb = new StringBuilder(size * 8 + 2).append('[');
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(values[i]);
+            }
+            return sb.append(']').toString();
+        }
+    }
+}
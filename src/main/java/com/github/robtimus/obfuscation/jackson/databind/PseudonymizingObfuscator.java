@@ -0,0 +1,329 @@
+/*
+ * PseudonymizingObfuscator.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import com.github.robtimus.obfuscation.Obfuscator;
+
+/**
+ * An obfuscator that replaces values with deterministic, keyed pseudonyms.
+ * <p>
+ * The pseudonym of a value is (a prefix of) the hexadecimal representation of the HMAC of the value's UTF-8 bytes. The same value therefore
+ * always results in the same pseudonym, as long as the same key is used. This allows values to be correlated, for instance across log files of
+ * different services, without revealing them.
+ * <p>
+ * A single {@link Mac} instance is initialized with the key when the obfuscator is built. Each HMAC is computed using a clone of this instance,
+ * so no per-thread state is kept; this works well with virtual threads, and with many obfuscator instances. If the {@link Mac} implementation
+ * does not support cloning, a new instance is created and initialized for each HMAC instead. Pseudonyms of recently obfuscated values are kept in a
+ * bounded least-recently-used cache, so values that are obfuscated often don't need their HMAC recomputed each time. The number of cache hits
+ * and misses are available through {@link #cacheHits()} and {@link #cacheMisses()}.
+ * <p>
+ * Instances can be used as default obfuscator, for instance using {@link ObfuscationModule.Builder#withDefaultObfuscator(Class, Obfuscator)}:
+ * <pre><code>
+ * ObfuscationModule module = ObfuscationModule.builder()
+ *         .withDefaultObfuscator(CustomerId.class, PseudonymizingObfuscator.builder(key).build())
+ *         .build();
+ * </code></pre>
+ * <p>
+ * Instances of this class are thread-safe.
+ *
+ * @author Rob Spoor
+ * @since 2.1
+ */
+public final class PseudonymizingObfuscator extends Obfuscator {
+
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    private final SecretKeySpec key;
+    private final int tokenLength;
+
+    // Only used as a prototype, never to compute HMACs itself; its state is therefore never changed after it has been initialized
+    private final Mac prototype;
+    private final boolean cloneable;
+
+    // null if caching is disabled
+    private final SegmentedLruCache cache;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private PseudonymizingObfuscator(Builder builder, Mac mac) {
+        this.key = builder.key;
+        this.tokenLength = builder.tokenLength;
+        // Mac instances are not thread-safe. A ThreadLocal would create and initialize a Mac for each thread, which with virtual threads means
+        // for each task, and with many obfuscators the instances would accumulate in long-lived platform threads. Cloning an initialized Mac
+        // only copies its state, which is cheaper than creating and initializing a new one, and no state is kept per thread.
+        this.prototype = mac;
+        this.cloneable = isCloneable(mac);
+        this.cache = builder.cacheSize > 0 ? new SegmentedLruCache(builder.cacheSize, Long.MAX_VALUE) : null;
+    }
+
+    private static Mac newMac(SecretKeySpec key) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(key.getAlgorithm());
+        mac.init(key);
+        return mac;
+    }
+
+    private static boolean isCloneable(Mac mac) {
+        try {
+            mac.clone();
+            return true;
+        } catch (CloneNotSupportedException e) {
+            // Fall back to creating a new Mac for each HMAC
+            return false;
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            return cloneable ? (Mac) prototype.clone() : newMac(key);
+        } catch (GeneralSecurityException | CloneNotSupportedException e) {
+            // The algorithm and key have been validated when this obfuscator was built
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public CharSequence obfuscateText(CharSequence s, int start, int end) {
+        checkIndexes(s, start, end);
+        return pseudonym(s.subSequence(start, end).toString());
+    }
+
+    @Override
+    public void obfuscateText(CharSequence s, int start, int end, StringBuilder destination) {
+        checkIndexes(s, start, end);
+        destination.append(pseudonym(s.subSequence(start, end).toString()));
+    }
+
+    @Override
+    public void obfuscateText(CharSequence s, int start, int end, Appendable destination) throws IOException {
+        checkIndexes(s, start, end);
+        destination.append(pseudonym(s.subSequence(start, end).toString()));
+    }
+
+    @Override
+    public void obfuscateText(Reader input, Appendable destination) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[1024];
+        int len;
+        while ((len = input.read(buffer)) != -1) {
+            sb.append(buffer, 0, len);
+        }
+        destination.append(pseudonym(sb.toString()));
+    }
+
+    @Override
+    public Writer streamTo(Appendable destination) {
+        Objects.requireNonNull(destination);
+        // The pseudonym depends on the entire text, so nothing can be written until the writer is closed
+        return new Writer() {
+            private final StringBuilder text = new StringBuilder();
+            private boolean closed = false;
+
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                ensureOpen();
+                text.append(cbuf, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                ensureOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    destination.append(pseudonym(text.toString()));
+                }
+            }
+
+            @SuppressWarnings("nls")
+            private void ensureOpen() throws IOException {
+                if (closed) {
+                    throw new IOException("Stream closed");
+                }
+            }
+        };
+    }
+
+    private static void checkIndexes(CharSequence s, int start, int end) {
+        Objects.checkFromToIndex(start, end, s.length());
+    }
+
+    private String pseudonym(String value) {
+        if (cache == null) {
+            cacheMisses.increment();
+            return computePseudonym(value);
+        }
+        String pseudonym = cache.get(value);
+        if (pseudonym != null) {
+            cacheHits.increment();
+            return pseudonym;
+        }
+        cacheMisses.increment();
+        pseudonym = computePseudonym(value);
+        cache.put(value, pseudonym);
+        return pseudonym;
+    }
+
+    private String computePseudonym(String value) {
+        byte[] hmac = newMac().doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return HEX_FORMAT.formatHex(hmac, 0, (tokenLength + 1) / 2).substring(0, tokenLength);
+    }
+
+    /**
+     * Returns the number of times a pseudonym was found in the cache.
+     *
+     * @return The number of times a pseudonym was found in the cache.
+     */
+    public long cacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Returns the number of times a pseudonym had to be computed. If caching is disabled, this is the number of obfuscated values.
+     *
+     * @return The number of times a pseudonym had to be computed.
+     */
+    public long cacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    @SuppressWarnings("nls")
+    public String toString() {
+        // Never include the key
+        return getClass().getName() + "[algorithm=" + key.getAlgorithm() + ",tokenLength=" + tokenLength + "]";
+    }
+
+    /**
+     * Returns a builder that will create {@code PseudonymizingObfuscators}.
+     *
+     * @param key The secret key to use for computing pseudonyms. The builder will use a copy of the key.
+     * @return A builder that will create {@code PseudonymizingObfuscators}.
+     * @throws NullPointerException If the given key is {@code null}.
+     * @throws IllegalArgumentException If the given key is empty.
+     */
+    public static Builder builder(byte[] key) {
+        return new Builder(key);
+    }
+
+    /**
+     * A builder for {@link PseudonymizingObfuscator PseudonymizingObfuscators}.
+     *
+     * @author Rob Spoor
+     * @since 2.1
+     */
+    public static final class Builder {
+
+        @SuppressWarnings("nls")
+        private static final String DEFAULT_ALGORITHM = "HmacSHA256";
+
+        private final byte[] keyBytes;
+        private SecretKeySpec key;
+        private int tokenLength = 16;
+        private int cacheSize = 10_000;
+
+        @SuppressWarnings("nls")
+        private Builder(byte[] key) {
+            if (key.length == 0) {
+                throw new IllegalArgumentException("key must not be empty");
+            }
+            this.keyBytes = key.clone();
+            this.key = new SecretKeySpec(keyBytes, DEFAULT_ALGORITHM);
+        }
+
+        /**
+         * Sets the HMAC algorithm to use, for instance {@code HmacSHA512}. The default is {@code HmacSHA256}.
+         *
+         * @param algorithm The HMAC algorithm to use.
+         * @return This object.
+         * @throws NullPointerException If the given algorithm is {@code null}.
+         */
+        public Builder withAlgorithm(String algorithm) {
+            key = new SecretKeySpec(keyBytes, Objects.requireNonNull(algorithm));
+            return this;
+        }
+
+        /**
+         * Sets the number of hexadecimal characters of pseudonyms. The default is {@code 16}.
+         * Longer pseudonyms reduce the chance that different values get the same pseudonym.
+         *
+         * @param tokenLength The number of hexadecimal characters of pseudonyms.
+         *                        This must not exceed twice the length in bytes of the HMAC algorithm's result.
+         * @return This object.
+         * @throws IllegalArgumentException If the given token length is not positive.
+         */
+        @SuppressWarnings("nls")
+        public Builder withTokenLength(int tokenLength) {
+            if (tokenLength <= 0) {
+                throw new IllegalArgumentException("tokenLength must be positive: " + tokenLength);
+            }
+            this.tokenLength = tokenLength;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pseudonyms to cache. The default is {@code 10000}. Use {@code 0} to disable caching.
+         *
+         * @param cacheSize The maximum number of pseudonyms to cache.
+         * @return This object.
+         * @throws IllegalArgumentException If the given cache size is negative.
+         */
+        @SuppressWarnings("nls")
+        public Builder withCacheSize(int cacheSize) {
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("cacheSize must not be negative: " + cacheSize);
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link PseudonymizingObfuscator} with the current settings of this builder.
+         *
+         * @return The created {@link PseudonymizingObfuscator}.
+         * @throws IllegalStateException If the algorithm is not supported, or if the token length is too large for the algorithm.
+         */
+        @SuppressWarnings("nls")
+        public PseudonymizingObfuscator build() {
+            Mac mac;
+            try {
+                mac = newMac(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot create a Mac for algorithm " + key.getAlgorithm(), e);
+            }
+            if (tokenLength > mac.getMacLength() * 2) {
+                throw new IllegalStateException("tokenLength " + tokenLength + " exceeds the maximum of " + mac.getMacLength() * 2
+                        + " for algorithm " + key.getAlgorithm());
+            }
+            return new PseudonymizingObfuscator(this, mac);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * SegmentedLruCache.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// A least-recently-used cache of strings that is split into segments, each with their own lock, to reduce contention.
+// The cache is bounded both by the number of strings and by their total number of characters.
+// The locks are only held while updating the in-memory segments, never while computing values or doing I/O, so virtual threads never park
+// while holding them. ConcurrencyTest verifies that no virtual threads get pinned.
+final class SegmentedLruCache {
+
+    private static final int MAX_SEGMENT_COUNT = 16;
+
+    private final Segment[] segments;
+
+    private final LongAdder evictions = new LongAdder();
+
+    SegmentedLruCache(int maxSize, long maxCharacters) {
+        int segmentCount = Math.min(MAX_SEGMENT_COUNT, maxSize);
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Distribute the maximum size and number of characters over the segments, without exceeding them
+            int segmentSize = maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0);
+            long segmentCharacters = maxCharacters / segmentCount + (i < maxCharacters % segmentCount ? 1 : 0);
+            segments[i] = new Segment(segmentSize, segmentCharacters);
+        }
+    }
+
+    // returns null if the key is not cached
+    String get(Object key) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    void put(Object key, String value) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.add(key, value);
+        }
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    private Segment segment(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[Math.floorMod(hash, segments.length)];
+    }
+
+    // A least-recently-used segment of the cache, that tracks the total number of cached characters
+    @SuppressWarnings("serial")
+    private final class Segment extends LinkedHashMap<Object, String> {
+
+        private final int maxSize;
+        private final long maxCharacters;
+
+        private long characters = 0;
+
+        private Segment(int maxSize, long maxCharacters) {
+            super(16, 0.75F, true);
+            this.maxSize = maxSize;
+            this.maxCharacters = maxCharacters;
+        }
+
+        private void add(Object key, String value) {
+            if (value.length() > maxCharacters) {
+                // Caching it would evict everything else
+                return;
+            }
+            String previous = put(key, value);
+            if (previous != null) {
+                characters -= previous.length();
+            }
+            characters += value.length();
+
+            Iterator<String> iterator = values().iterator();
+            while (size() > maxSize || characters > maxCharacters) {
+                characters -= iterator.next().length();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+}
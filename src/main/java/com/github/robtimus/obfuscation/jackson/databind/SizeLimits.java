@@ -0,0 +1,190 @@
+/*
+ * SizeLimits.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.TokenStreamContext;
+import tools.jackson.core.sym.PropertyNameMatcher;
+import tools.jackson.core.util.JsonParserDelegate;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.DeserializationContext;
+
+// The maximum sizes of the JSON values of one property. These are checked token by token, so oversized values are rejected before they are
+// deserialized into collections, maps or beans. String lengths are checked after the parser has read the string token; the parser's own
+// StreamReadConstraints are fixed per parser, so they cannot be derived per property.
+final class SizeLimits {
+
+    static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final int maxLength;
+    private final int maxElements;
+
+    private SizeLimits(int maxLength, int maxElements) {
+        this.maxLength = maxLength;
+        this.maxElements = maxElements;
+    }
+
+    // returns null if there are no limits
+    static SizeLimits of(ObfuscationLimits annotation, int defaultMaxLength, int defaultMaxElements) {
+        int maxLength = annotation != null && annotation.maxLength() >= 0 ? annotation.maxLength() : defaultMaxLength;
+        int maxElements = annotation != null && annotation.maxElements() >= 0 ? annotation.maxElements() : defaultMaxElements;
+        return maxLength == UNLIMITED && maxElements == UNLIMITED ? null : new SizeLimits(maxLength, maxElements);
+    }
+
+    // Returns a parser that checks the limits for the value starting at the given parser's current token
+    JsonParser apply(JsonParser p, BeanProperty property, DeserializationContext ctxt) {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            checkLength(p, property, ctxt);
+            return p;
+        }
+        if (token != null && token.isStructStart()) {
+            return new LimitingParser(p, property, ctxt);
+        }
+        return p;
+    }
+
+    @SuppressWarnings("nls")
+    private void checkLength(JsonParser p, BeanProperty property, DeserializationContext ctxt) {
+        if (maxLength != UNLIMITED) {
+            // This does not create a String from the parser's internal buffer, but the parser has buffered the entire token by now
+            int length = p.getStringLength();
+            if (length > maxLength) {
+                ctxt.reportInputMismatch(property, "String value of property '%s' exceeds the maximum length of %d", property.getName(), maxLength);
+            }
+        }
+    }
+
+    // All methods that advance the parser are implemented using nextToken, so no token can bypass the checks.
+    // This includes the methods that deserializers use as shortcuts, like nextNameMatch for beans.
+    private final class LimitingParser extends JsonParserDelegate {
+
+        private final BeanProperty property;
+        private final DeserializationContext ctxt;
+        // the stream context of the value's root array or object
+        private final TokenStreamContext rootContext;
+
+        private LimitingParser(JsonParser p, BeanProperty property, DeserializationContext ctxt) {
+            super(p);
+            this.property = property;
+            this.ctxt = ctxt;
+            this.rootContext = p.streamReadContext();
+        }
+
+        @Override
+        public JsonToken nextToken() {
+            return check(super.nextToken());
+        }
+
+        @Override
+        public JsonToken nextValue() {
+            JsonToken token = nextToken();
+            return token == JsonToken.PROPERTY_NAME ? nextToken() : token;
+        }
+
+        @Override
+        public String nextName() {
+            return nextToken() == JsonToken.PROPERTY_NAME ? currentName() : null;
+        }
+
+        @Override
+        public boolean nextName(SerializableString str) {
+            return nextToken() == JsonToken.PROPERTY_NAME && str.getValue().equals(currentName());
+        }
+
+        @Override
+        public int nextNameMatch(PropertyNameMatcher matcher) {
+            JsonToken token = nextToken();
+            if (token == JsonToken.PROPERTY_NAME) {
+                return matcher.matchName(currentName());
+            }
+            return token == JsonToken.END_OBJECT ? PropertyNameMatcher.MATCH_END_OBJECT : PropertyNameMatcher.MATCH_ODD_TOKEN;
+        }
+
+        @Override
+        public String nextStringValue() {
+            return nextToken() == JsonToken.VALUE_STRING ? getString() : null;
+        }
+
+        @Override
+        public int nextIntValue(int defaultValue) {
+            return nextToken() == JsonToken.VALUE_NUMBER_INT ? getIntValue() : defaultValue;
+        }
+
+        @Override
+        public long nextLongValue(long defaultValue) {
+            return nextToken() == JsonToken.VALUE_NUMBER_INT ? getLongValue() : defaultValue;
+        }
+
+        @Override
+        public Boolean nextBooleanValue() {
+            JsonToken token = nextToken();
+            if (token == JsonToken.VALUE_TRUE) {
+                return Boolean.TRUE;
+            }
+            return token == JsonToken.VALUE_FALSE ? Boolean.FALSE : null;
+        }
+
+        @Override
+        public JsonParser skipChildren() {
+            JsonToken token = currentToken();
+            if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+                return this;
+            }
+            // Skipped values count as well, and so do the strings inside them
+            int open = 1;
+            while (open > 0) {
+                token = nextToken();
+                if (token == null) {
+                    break;
+                }
+                if (token.isStructStart()) {
+                    open++;
+                } else if (token.isStructEnd()) {
+                    open--;
+                }
+            }
+            return this;
+        }
+
+        @SuppressWarnings("nls")
+        private JsonToken check(JsonToken token) {
+            if (token == null || token.isStructEnd()) {
+                return token;
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                checkLength(this, property, ctxt);
+            }
+            if (maxElements != UNLIMITED) {
+                TokenStreamContext context = streamReadContext();
+                if (token.isStructStart()) {
+                    // The context is that of the new array or object; its parent contains it as element
+                    context = context.getParent();
+                }
+                // For objects, the index is incremented for each property
+                if (context == rootContext && context.getCurrentIndex() >= maxElements) {
+                    ctxt.reportInputMismatch(property, "Value of property '%s' exceeds the maximum number of %d elements",
+                            property.getName(), maxElements);
+                }
+            }
+            return token;
+        }
+    }
+}
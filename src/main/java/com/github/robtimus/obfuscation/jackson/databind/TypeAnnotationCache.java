@@ -0,0 +1,62 @@
+/*
+ * TypeAnnotationCache.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import java.util.Optional;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import com.github.robtimus.obfuscation.annotation.ObjectFactory;
+
+// Caches the obfuscators and character representation providers defined in class annotations, for one object factory.
+// Many properties share the same generic element/value type, so this prevents reading the same class annotations and creating the same
+// obfuscators and character representation providers over and over again.
+final class TypeAnnotationCache {
+
+    private final ObjectFactory objectFactory;
+
+    // ClassValues don't prevent the types and their class loaders from being garbage collected.
+    // If the object factory fails, nothing is cached and the next call tries again.
+    private final ClassValue<Optional<Obfuscator>> obfuscators = new ClassValue<>() {
+        @Override
+        protected Optional<Obfuscator> computeValue(Class<?> type) {
+            return objectFactory.obfuscator(type::getAnnotation);
+        }
+    };
+    private final ClassValue<Optional<CharacterRepresentationProvider>> characterRepresentationProviders = new ClassValue<>() {
+        @Override
+        protected Optional<CharacterRepresentationProvider> computeValue(Class<?> type) {
+            return objectFactory.characterRepresentationProvider(type::getAnnotation);
+        }
+    };
+
+    TypeAnnotationCache(ObjectFactory objectFactory) {
+        this.objectFactory = objectFactory;
+    }
+
+    ObjectFactory objectFactory() {
+        return objectFactory;
+    }
+
+    Optional<Obfuscator> obfuscator(Class<?> type) {
+        return obfuscators.get(type);
+    }
+
+    Optional<CharacterRepresentationProvider> characterRepresentationProvider(Class<?> type) {
+        return characterRepresentationProviders.get(type);
+    }
+}
@@ -23,6 +23,7 @@ module com.github.robtimus.obfuscation.jackson.databind {
     requires transitive com.github.robtimus.obfuscation.annotations;
     requires transitive tools.jackson.databind;
     requires com.fasterxml.jackson.annotation;
+    requires static jdk.jfr;
 
     exports com.github.robtimus.obfuscation.jackson.databind;
 
@@ -0,0 +1,190 @@
+/*
+ * ArrayRepresentationsTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.Obfuscated;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import com.github.robtimus.obfuscation.annotation.ObfuscateNone;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class ArrayRepresentationsTest {
+
+    @Nested
+    @DisplayName("defaultInstance(Class)")
+    class DefaultInstance {
+
+        @Test
+        @DisplayName("primitive arrays")
+        void testPrimitiveArrays() {
+            assertSame(ArrayRepresentations.BOOLEAN_ARRAY, ArrayRepresentations.defaultInstance(boolean[].class));
+            assertSame(ArrayRepresentations.BYTE_ARRAY, ArrayRepresentations.defaultInstance(byte[].class));
+            assertSame(ArrayRepresentations.SHORT_ARRAY, ArrayRepresentations.defaultInstance(short[].class));
+            assertSame(ArrayRepresentations.INT_ARRAY, ArrayRepresentations.defaultInstance(int[].class));
+            assertSame(ArrayRepresentations.LONG_ARRAY, ArrayRepresentations.defaultInstance(long[].class));
+            assertSame(ArrayRepresentations.FLOAT_ARRAY, ArrayRepresentations.defaultInstance(float[].class));
+            assertSame(ArrayRepresentations.DOUBLE_ARRAY, ArrayRepresentations.defaultInstance(double[].class));
+        }
+
+        @Test
+        @DisplayName("other types")
+        void testOtherTypes() {
+            for (Class<?> type : List.of(char[].class, Object[].class, String.class, int[][].class)) {
+                CharacterRepresentationProvider expected = CharacterRepresentationProvider.getDefaultInstance(type);
+                assertEquals(expected.getClass(), ArrayRepresentations.defaultInstance(type).getClass());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("toCharSequence")
+    class ToCharSequence {
+
+        @Test
+        @DisplayName("boolean[]")
+        void testBooleanArray() {
+            assertToCharSequence(new boolean[0]);
+            assertToCharSequence(new boolean[] { true });
+            assertToCharSequence(new boolean[] { true, false, false, true });
+        }
+
+        @Test
+        @DisplayName("byte[]")
+        void testByteArray() {
+            assertToCharSequence(new byte[0]);
+            assertToCharSequence(new byte[] { 0 });
+            assertToCharSequence(new byte[] { Byte.MIN_VALUE, -1, 0, 9, 10, Byte.MAX_VALUE });
+        }
+
+        @Test
+        @DisplayName("short[]")
+        void testShortArray() {
+            assertToCharSequence(new short[0]);
+            assertToCharSequence(new short[] { 0 });
+            assertToCharSequence(new short[] { Short.MIN_VALUE, -1, 0, 9, 10, Short.MAX_VALUE });
+        }
+
+        @Test
+        @DisplayName("int[]")
+        void testIntArray() {
+            assertToCharSequence(new int[0]);
+            assertToCharSequence(new int[] { 0 });
+            assertToCharSequence(new int[] { Integer.MIN_VALUE, -1, 0, 9, 10, 99_999, 100_000, Integer.MAX_VALUE });
+        }
+
+        @Test
+        @DisplayName("long[]")
+        void testLongArray() {
+            assertToCharSequence(new long[0]);
+            assertToCharSequence(new long[] { 0 });
+            assertToCharSequence(new long[] { Long.MIN_VALUE, -1, 0, 9, 10, 999_999_999_999L, 1_000_000_000_000L, Long.MAX_VALUE });
+        }
+
+        @Test
+        @DisplayName("float[]")
+        void testFloatArray() {
+            assertToCharSequence(new float[0]);
+            assertToCharSequence(new float[] { 0 });
+            assertToCharSequence(new float[] { Float.MIN_VALUE, -1.5F, 0, Float.NaN, Float.NEGATIVE_INFINITY, Float.MAX_VALUE });
+        }
+
+        @Test
+        @DisplayName("double[]")
+        void testDoubleArray() {
+            assertToCharSequence(new double[0]);
+            assertToCharSequence(new double[] { 0 });
+            assertToCharSequence(new double[] { Double.MIN_VALUE, -1.5, 0, Double.NaN, Double.NEGATIVE_INFINITY, Double.MAX_VALUE });
+        }
+    }
+
+    @Test
+    @DisplayName("stringSize(long)")
+    void testStringSize() {
+        long[] values = { Long.MIN_VALUE, -1_000_000_000_000_000_000L, -10, -9, -1, 0, 1, 9, 10, 99, 100, 1_000_000_000_000_000_000L,
+                Long.MAX_VALUE };
+        for (long value : values) {
+            assertEquals(Long.toString(value).length(), ArrayRepresentations.stringSize(value), Long.toString(value));
+        }
+    }
+
+    @Test
+    @DisplayName("as default for Obfuscated")
+    void testAsDefaultForObfuscated() {
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.defaultModule())
+                .build();
+
+        ArrayClass deserialized = mapper.readValue("{\"ints\":[1,-20,300],\"doubles\":[1.5,-2.0]}", ArrayClass.class);
+
+        assertEquals("[1, -20, 300]", deserialized.ints.toString());
+        assertEquals("[1.5, -2.0]", deserialized.doubles.toString());
+    }
+
+    private static void assertToCharSequence(boolean[] array) {
+        assertEquals(Arrays.toString(array), ArrayRepresentations.BOOLEAN_ARRAY.toCharSequence(array).toString());
+    }
+
+    private static void assertToCharSequence(byte[] array) {
+        assertEquals(Arrays.toString(array), ArrayRepresentations.BYTE_ARRAY.toCharSequence(array).toString());
+    }
+
+    private static void assertToCharSequence(short[] array) {
+        assertEquals(Arrays.toString(array), ArrayRepresentations.SHORT_ARRAY.toCharSequence(array).toString());
+    }
+
+    private static void assertToCharSequence(int[] array) {
+        assertEquals(Arrays.toString(array), ArrayRepresentations.INT_ARRAY.toCharSequence(array).toString());
+        // The exact length is calculated beforehand
+        CharSequence result = ArrayRepresentations.toCharSequence(array);
+        if (result instanceof StringBuilder sb) {
+            assertEquals(sb.length(), sb.capacity());
+        }
+    }
+
+    private static void assertToCharSequence(long[] array) {
+        assertEquals(Arrays.toString(array), ArrayRepresentations.LONG_ARRAY.toCharSequence(array).toString());
+        CharSequence result = ArrayRepresentations.toCharSequence(array);
+        if (result instanceof StringBuilder sb) {
+            assertEquals(sb.length(), sb.capacity());
+        }
+    }
+
+    private static void assertToCharSequence(float[] array) {
+        assertEquals(Arrays.toString(array), ArrayRepresentations.FLOAT_ARRAY.toCharSequence(array).toString());
+    }
+
+    private static void assertToCharSequence(double[] array) {
+        assertEquals(Arrays.toString(array), ArrayRepresentations.DOUBLE_ARRAY.toCharSequence(array).toString());
+    }
+
+    public static final class ArrayClass {
+
+        @ObfuscateNone
+        public Obfuscated<int[]> ints;
+
+        @ObfuscateNone
+        public Obfuscated<double[]> doubles;
+    }
+}
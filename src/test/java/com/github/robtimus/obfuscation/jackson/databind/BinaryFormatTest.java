@@ -0,0 +1,150 @@
+/*
+ * BinaryFormatTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.Obfuscated;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.ObfuscateFixedLength;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.TestClass;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+@SuppressWarnings("nls")
+class BinaryFormatTest {
+
+    @Nested
+    @DisplayName("CBOR")
+    class CBORTest extends FormatTest {
+
+        CBORTest() {
+            super(CBORMapper.builder()
+                    .addModule(ObfuscationModule.defaultModule())
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build());
+        }
+    }
+
+    @Nested
+    @DisplayName("Smile")
+    class SmileTest extends FormatTest {
+
+        SmileTest() {
+            super(SmileMapper.builder()
+                    .addModule(ObfuscationModule.defaultModule())
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build());
+        }
+    }
+
+    abstract static class FormatTest {
+
+        private final ObjectMapper mapper;
+
+        FormatTest(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        @Test
+        @DisplayName("round trip")
+        void testRoundTrip() {
+            TestClass original = new TestClass();
+
+            byte[] content = mapper.writeValueAsBytes(original);
+            TestClass deserialized = mapper.readValue(content, TestClass.class);
+
+            assertEquals(original.stringValue, deserialized.stringValue);
+            assertEquals(original.intValue, deserialized.intValue);
+            assertEquals(original.obfuscatedList, deserialized.obfuscatedList);
+            assertEquals(original.negateValueObfuscatedMap, deserialized.negateValueObfuscatedMap);
+
+            assertEquals("***", deserialized.stringValue.toString());
+            assertEquals("[***]", deserialized.intArray.toString());
+            assertEquals("<<13>>", deserialized.nestedClass.toString());
+            assertEquals("an**ed", deserialized.annotated.toString());
+            assertEquals("[********, ********]", deserialized.obfuscatedList.toString());
+            assertEquals("[F***O, B***R]", deserialized.upperCaseObfuscatedList.toString());
+            assertEquals("{1=-***2}", deserialized.negateValueObfuscatedMap.toString());
+            assertEquals("[2020-05-**]", deserialized.obfuscatedDateList.toString());
+        }
+
+        @Test
+        @DisplayName("native tokens")
+        void testNativeTokens() {
+            byte[] content = mapper.writeValueAsBytes(new BinaryClass());
+
+            Map<String, JsonToken> tokens = new HashMap<>();
+            try (JsonParser parser = mapper.createParser(content)) {
+                while (parser.nextToken() != null) {
+                    if (parser.currentToken() == JsonToken.PROPERTY_NAME) {
+                        tokens.put(parser.currentName(), parser.nextToken());
+                    }
+                }
+            }
+
+            // byte arrays should not be written as base64 encoded strings, numbers should not be written as strings
+            assertEquals(JsonToken.VALUE_EMBEDDED_OBJECT, tokens.get("bytes"));
+            assertEquals(JsonToken.VALUE_NUMBER_INT, tokens.get("longValue"));
+            assertEquals(JsonToken.VALUE_NUMBER_FLOAT, tokens.get("doubleValue"));
+            assertEquals(JsonToken.START_ARRAY, tokens.get("longList"));
+        }
+
+        @Test
+        @DisplayName("binary values")
+        void testBinaryValues() {
+            BinaryClass original = new BinaryClass();
+
+            byte[] content = mapper.writeValueAsBytes(original);
+            BinaryClass deserialized = mapper.readValue(content, BinaryClass.class);
+
+            assertArrayEquals(original.bytes.value(), deserialized.bytes.value());
+            assertEquals(original.longValue, deserialized.longValue);
+            assertEquals(original.doubleValue, deserialized.doubleValue);
+            assertEquals(original.longList, deserialized.longList);
+
+            assertEquals("*****", deserialized.bytes.toString());
+            assertEquals("***", deserialized.longValue.toString());
+            assertEquals("***", deserialized.doubleValue.toString());
+            assertEquals("[*****, *****]", deserialized.longList.toString());
+        }
+    }
+
+    public static final class BinaryClass {
+
+        @ObfuscateFixedLength(5)
+        public Obfuscated<byte[]> bytes = Obfuscator.all().obfuscateObject(new byte[] { 1, 2, 3 });
+
+        public Obfuscated<Long> longValue = Obfuscator.all().obfuscateObject(Long.MAX_VALUE);
+        public Obfuscated<Double> doubleValue = Obfuscator.all().obfuscateObject(Math.PI);
+
+        @ObfuscateFixedLength(5)
+        public List<Long> longList = Arrays.asList(1L, Long.MIN_VALUE);
+    }
+}
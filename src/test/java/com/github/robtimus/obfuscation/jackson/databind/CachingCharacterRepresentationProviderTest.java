@@ -0,0 +1,271 @@
+/*
+ * CachingCharacterRepresentationProviderTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.spy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.ConvertedClass;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class CachingCharacterRepresentationProviderTest {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final CharacterRepresentationProvider provider = value -> {
+        count.incrementAndGet();
+        return new StringBuilder("<").append(value).append(">");
+    };
+
+    @Test
+    @DisplayName("toCharSequence")
+    void testToCharSequence() {
+        CachingCharacterRepresentationProvider cachingProvider = CachingCharacterRepresentationProvider.builder(provider).build();
+
+        assertEquals("<foo>", cachingProvider.toCharSequence("foo").toString());
+        assertEquals("<foo>", cachingProvider.toCharSequence("foo").toString());
+        assertEquals("<bar>", cachingProvider.toCharSequence("bar").toString());
+        assertEquals("<foo>", cachingProvider.toCharSequence("foo").toString());
+
+        assertEquals(2, count.get());
+        assertEquals(2, cachingProvider.cacheHits());
+        assertEquals(2, cachingProvider.cacheMisses());
+        assertEquals(0, cachingProvider.cacheEvictions());
+    }
+
+    @Test
+    @DisplayName("null value")
+    void testNullValue() {
+        CachingCharacterRepresentationProvider cachingProvider = CachingCharacterRepresentationProvider.builder(provider).build();
+
+        assertEquals("<null>", cachingProvider.toCharSequence(null).toString());
+        assertEquals("<null>", cachingProvider.toCharSequence(null).toString());
+
+        assertEquals(2, count.get());
+        assertEquals(0, cachingProvider.cacheHits());
+        assertEquals(0, cachingProvider.cacheMisses());
+    }
+
+    @Test
+    @DisplayName("eviction by size")
+    void testEvictionBySize() {
+        CachingCharacterRepresentationProvider cachingProvider = CachingCharacterRepresentationProvider.builder(provider)
+                .withMaxSize(1)
+                .build();
+
+        cachingProvider.toCharSequence("foo");
+        cachingProvider.toCharSequence("bar");
+        cachingProvider.toCharSequence("foo");
+
+        assertEquals(3, count.get());
+        assertEquals(0, cachingProvider.cacheHits());
+        assertEquals(3, cachingProvider.cacheMisses());
+        assertEquals(2, cachingProvider.cacheEvictions());
+    }
+
+    @Test
+    @DisplayName("eviction by characters")
+    void testEvictionByCharacters() {
+        // With one segment, the maximum number of characters applies to the entire cache
+        CachingCharacterRepresentationProvider cachingProvider = CachingCharacterRepresentationProvider.builder(provider)
+                .withMaxSize(1)
+                .withMaxCharacters(6)
+                .build();
+
+        cachingProvider.toCharSequence("foo");
+        cachingProvider.toCharSequence("foo");
+        // Too long to be cached, so nothing is evicted
+        cachingProvider.toCharSequence("foobar");
+        cachingProvider.toCharSequence("foobar");
+        cachingProvider.toCharSequence("foo");
+
+        assertEquals(3, count.get());
+        assertEquals(2, cachingProvider.cacheHits());
+        assertEquals(3, cachingProvider.cacheMisses());
+        assertEquals(0, cachingProvider.cacheEvictions());
+    }
+
+    @Test
+    @DisplayName("with module")
+    void testWithModule() {
+        CachingCharacterRepresentationProvider cachingProvider = CachingCharacterRepresentationProvider.builder(provider).build();
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.builder()
+                        .withDefaultObfuscator(String.class, Obfuscator.none())
+                        .withDefaultCharacterRepresentation(String.class, cachingProvider)
+                        .build())
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            ConvertedClass deserialized = mapper.readValue("{\"stringValue\":\"foo\",\"intValue\":1}", ConvertedClass.class);
+            assertEquals("<foo>", deserialized.stringValue.toString());
+        }
+
+        assertEquals(1, count.get());
+        assertEquals(2, cachingProvider.cacheHits());
+        assertEquals(1, cachingProvider.cacheMisses());
+    }
+
+    @Test
+    @DisplayName("with module caches obfuscated representations")
+    void testWithModuleCachesObfuscatedRepresentations() {
+        CachingCharacterRepresentationProvider cachingProvider = CachingCharacterRepresentationProvider.builder(provider).build();
+        Obfuscator obfuscator = spy(Obfuscator.fixedLength(3));
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.builder()
+                        .withDefaultObfuscator(String.class, obfuscator)
+                        .withDefaultCharacterRepresentation(String.class, cachingProvider)
+                        .build())
+                .build();
+
+        ConvertedClass deserialized = mapper.readValue("{\"stringValue\":\"foo\",\"intValue\":1}", ConvertedClass.class);
+        assertEquals("***", deserialized.stringValue.toString());
+
+        long obfuscations = countObfuscations(obfuscator);
+        assertNotEquals(0, obfuscations);
+
+        for (int i = 0; i < 3; i++) {
+            deserialized = mapper.readValue("{\"stringValue\":\"foo\",\"intValue\":1}", ConvertedClass.class);
+            assertEquals("***", deserialized.stringValue.toString());
+            assertEquals("***", deserialized.stringValue.toString());
+        }
+
+        // The obfuscator did not run again
+        assertEquals(obfuscations, countObfuscations(obfuscator));
+        assertEquals(1, count.get());
+        assertEquals(1, cachingProvider.cacheMisses());
+    }
+
+    private static long countObfuscations(Obfuscator obfuscator) {
+        return mockingDetails(obfuscator).getInvocations().stream()
+                .filter(invocation -> "obfuscateText".equals(invocation.getMethod().getName()))
+                .count();
+    }
+
+    @Nested
+    @DisplayName("serialization")
+    class SerializationTest {
+
+        @Test
+        @DisplayName("serializable provider")
+        void testSerializableProvider() throws IOException, ClassNotFoundException {
+            CharacterRepresentationProvider serializableProvider = (CharacterRepresentationProvider & Serializable) value -> "<" + value + ">";
+            CachingCharacterRepresentationProvider cachingProvider = CachingCharacterRepresentationProvider.builder(serializableProvider)
+                    .withMaxSize(1)
+                    .build();
+            cachingProvider.toCharSequence("foo");
+
+            CachingCharacterRepresentationProvider deserialized = serializeAndDeserialize(cachingProvider);
+
+            // The cache is not serialized
+            assertEquals(0, deserialized.cacheMisses());
+            assertEquals("<foo>", deserialized.toCharSequence("foo").toString());
+            assertEquals("<foo>", deserialized.toCharSequence("foo").toString());
+            assertEquals(1, deserialized.cacheHits());
+            assertEquals(1, deserialized.cacheMisses());
+
+            // The maximum size is serialized
+            deserialized.toCharSequence("bar");
+            assertEquals(1, deserialized.cacheEvictions());
+        }
+
+        @Test
+        @DisplayName("with module")
+        void testWithModule() throws IOException, ClassNotFoundException {
+            CharacterRepresentationProvider serializableProvider = (CharacterRepresentationProvider & Serializable) value -> "<" + value + ">";
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .withDefaultObfuscator(String.class, Obfuscator.none())
+                    .withDefaultCharacterRepresentation(String.class, CachingCharacterRepresentationProvider.builder(serializableProvider).build())
+                    .build();
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(serializeAndDeserialize(module))
+                    .build();
+
+            ConvertedClass deserialized = mapper.readValue("{\"stringValue\":\"foo\",\"intValue\":1}", ConvertedClass.class);
+            assertEquals("<foo>", deserialized.stringValue.toString());
+        }
+
+        @Test
+        @DisplayName("non-serializable provider")
+        void testNonSerializableProvider() {
+            CachingCharacterRepresentationProvider cachingProvider = CachingCharacterRepresentationProvider.builder(provider).build();
+
+            NotSerializableException exception = assertThrows(NotSerializableException.class, () -> serializeAndDeserialize(cachingProvider));
+            assertThat(exception.getMessage(), containsString("non-serializable provider"));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T serializeAndDeserialize(T object) throws IOException, ClassNotFoundException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+                objectOutput.writeObject(object);
+            }
+            try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+                return (T) objectInput.readObject();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("builder")
+    class BuilderTest {
+
+        @Test
+        @DisplayName("null provider")
+        void testNullProvider() {
+            assertThrows(NullPointerException.class, () -> CachingCharacterRepresentationProvider.builder(null));
+        }
+
+        @Test
+        @DisplayName("invalid maxSize")
+        void testInvalidMaxSize() {
+            CachingCharacterRepresentationProvider.Builder builder = CachingCharacterRepresentationProvider.builder(provider);
+
+            assertThrows(IllegalArgumentException.class, () -> builder.withMaxSize(0));
+            assertThrows(IllegalArgumentException.class, () -> builder.withMaxSize(-1));
+        }
+
+        @Test
+        @DisplayName("invalid maxCharacters")
+        void testInvalidMaxCharacters() {
+            CachingCharacterRepresentationProvider.Builder builder = CachingCharacterRepresentationProvider.builder(provider);
+
+            assertThrows(IllegalArgumentException.class, () -> builder.withMaxCharacters(0));
+            assertThrows(IllegalArgumentException.class, () -> builder.withMaxCharacters(-1));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * ConcurrencyTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.ConvertedClass;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.TestClass;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class ConcurrencyTest {
+
+    private static final int THREAD_COUNT = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int ITERATIONS = 50;
+
+    @Test
+    @DisplayName("shared mapper with platform threads")
+    void testSharedMapperWithPlatformThreads() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            testSharedMapper(executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("shared mapper with virtual threads")
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void testSharedMapperWithVirtualThreads() throws ReflectiveOperationException, InterruptedException, ExecutionException {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        try {
+            testSharedMapper(executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("cached obfuscation with virtual threads does not pin carrier threads")
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void testCachedObfuscationWithVirtualThreadsDoesNotPin(@TempDir Path tempDir)
+            throws ReflectiveOperationException, InterruptedException, ExecutionException, IOException {
+
+        // The caches of CachingCharacterRepresentationProvider and PseudonymizingObfuscator use a lock per segment, and the plan cache is filled
+        // concurrently. None of them may block while holding a monitor, as that pins the carrier thread of a virtual thread.
+        // Small caches cause evictions, and only a few distinct values cause contention on the same segments.
+        PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder("secret".getBytes(StandardCharsets.UTF_8))
+                .withCacheSize(4)
+                .build();
+        CachingCharacterRepresentationProvider characterRepresentationProvider = CachingCharacterRepresentationProvider
+                .builder(value -> "<" + value + ">")
+                .withMaxSize(4)
+                .build();
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.builder()
+                        .withDefaultObfuscator(String.class, obfuscator)
+                        .withDefaultCharacterRepresentation(String.class, characterRepresentationProvider)
+                        .build())
+                .build();
+
+        Path recordingFile = tempDir.resolve("pinning.jfr");
+        try (Recording recording = new Recording()) {
+            // Record all pinning, not only pinning that lasts longer than the default threshold
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            try {
+                testCachedObfuscation(mapper, executor);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> pinnedEvents = RecordingFile.readAllEvents(recordingFile);
+        assertEquals(List.of(), pinnedEvents);
+        assertNotEquals(0, obfuscator.cacheHits());
+        assertNotEquals(0, characterRepresentationProvider.cacheHits());
+    }
+
+    private void testCachedObfuscation(JsonMapper mapper, ExecutorService executor) throws InterruptedException, ExecutionException {
+        int taskCount = THREAD_COUNT * 100;
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            String value = "value" + i % 8;
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                for (int j = 0; j < ITERATIONS; j++) {
+                    ConvertedClass deserialized = mapper.readValue("{\"stringValue\":\"" + value + "\",\"intValue\":1}", ConvertedClass.class);
+                    assertEquals(value, deserialized.stringValue.value());
+                    assertEquals(16, deserialized.stringValue.toString().length());
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+
+        for (Future<?> future : futures) {
+            // rethrows any assertion error wrapped in an ExecutionException
+            future.get();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws ReflectiveOperationException {
+        // Executors.newVirtualThreadPerTaskExecutor() is not available when compiling for Java 17
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    private void testSharedMapper(ExecutorService executor) throws InterruptedException, ExecutionException {
+        // Use a new mapper and module so all threads race to create the serializers, deserializers and obfuscation plans
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.builder().build())
+                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                for (int j = 0; j < ITERATIONS; j++) {
+                    testRoundTrip(mapper);
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+
+        for (Future<?> future : futures) {
+            // rethrows any assertion error wrapped in an ExecutionException
+            future.get();
+        }
+    }
+
+    private void testRoundTrip(JsonMapper mapper) {
+        TestClass original = new TestClass();
+
+        String json = mapper.writeValueAsString(original);
+        assertThat(json, containsString("\"stringValue\":\"foo\""));
+        assertThat(json, containsString("\"intArray\":[1,2,3]"));
+        assertThat(json, containsString("\"obfuscatedList\":[\"foo\",\"bar\"]"));
+
+        TestClass deserialized = mapper.readValue(json, TestClass.class);
+
+        assertEquals(original.stringValue, deserialized.stringValue);
+        assertEquals(original.obfuscatedList, deserialized.obfuscatedList);
+        assertEquals(original.negateValueObfuscatedMap, deserialized.negateValueObfuscatedMap);
+
+        assertEquals("***", deserialized.stringValue.toString());
+        assertEquals("[***]", deserialized.intArray.toString());
+        assertEquals("<<13>>", deserialized.nestedClass.toString());
+        assertEquals("an**ed", deserialized.annotated.toString());
+        assertEquals("[********, ********]", deserialized.obfuscatedList.toString());
+        assertEquals("[F***O, B***R]", deserialized.upperCaseObfuscatedList.toString());
+        assertEquals("[an**ed]", deserialized.annotatedList.toString());
+        assertEquals("{1=-***2}", deserialized.negateValueObfuscatedMap.toString());
+        assertEquals("[2020-05-**]", deserialized.obfuscatedDateList.toString());
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * DualOutputWriterTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.github.robtimus.obfuscation.Obfuscated;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.ObfuscateAll;
+import com.github.robtimus.obfuscation.annotation.ObfuscateFixedLength;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class DualOutputWriterTest {
+
+    private final JsonMapper mapper = JsonMapper.builder()
+            .addModule(ObfuscationModule.builder()
+                    .preserveObfuscatedOnConversion(true)
+                    .build())
+            .build();
+
+    @Test
+    @DisplayName("writeValue")
+    void testWriteValue() {
+        AuditedClass value = new AuditedClass();
+        value.name = "John";
+        value.password = Obfuscator.fixedLength(3).obfuscateObject("secret");
+        value.address = Obfuscator.fixedValue("<address>").obfuscateObject(new Address("Utrecht"));
+        value.codes = Obfuscator.all().obfuscateObject(List.of("a", "b"));
+        value.unset = null;
+
+        DualOutputWriter writer = DualOutputWriter.create(mapper.writer());
+
+        StringWriter plain = new StringWriter();
+        StringWriter masked = new StringWriter();
+        try (JsonGenerator plainGenerator = mapper.createGenerator(plain);
+                JsonGenerator maskedGenerator = mapper.createGenerator(masked)) {
+
+            writer.writeValue(value, plainGenerator, maskedGenerator);
+        }
+
+        assertEquals(mapper.writeValueAsString(value), plain.toString());
+
+        String maskedJson = masked.toString();
+        assertThat(maskedJson, containsString("\"name\":\"John\""));
+        assertThat(maskedJson, containsString("\"password\":\"***\""));
+        assertThat(maskedJson, containsString("\"address\":\"<address>\""));
+        assertThat(maskedJson, containsString("\"codes\":\"" + value.codes + "\""));
+        assertThat(maskedJson, containsString("\"unset\":null"));
+        assertThat(maskedJson, not(containsString("secret")));
+        assertThat(maskedJson, not(containsString("Utrecht")));
+    }
+
+    @Test
+    @DisplayName("writeValue with list of beans")
+    void testWriteValueWithListOfBeans() {
+        AuditedClass first = new AuditedClass();
+        first.password = Obfuscator.fixedLength(3).obfuscateObject("secret1");
+        AuditedClass second = new AuditedClass();
+        second.password = Obfuscator.fixedLength(3).obfuscateObject("secret2");
+        List<AuditedClass> values = List.of(first, second);
+
+        DualOutputWriter writer = DualOutputWriter.create(mapper.writer());
+
+        StringWriter plain = new StringWriter();
+        StringWriter masked = new StringWriter();
+        try (JsonGenerator plainGenerator = mapper.createGenerator(plain);
+                JsonGenerator maskedGenerator = mapper.createGenerator(masked)) {
+
+            writer.writeValue(values, plainGenerator, maskedGenerator);
+        }
+
+        assertEquals(mapper.writeValueAsString(values), plain.toString());
+        assertEquals(mapper.writeValueAsString(values).replace("\"secret1\"", "\"***\"").replace("\"secret2\"", "\"***\""), masked.toString());
+    }
+
+    @Test
+    @DisplayName("writeValue with obfuscated List and Map properties")
+    void testWriteValueWithObfuscatedCollections() {
+        CollectionsClass value = new CollectionsClass();
+        value.list = List.of("secret1", "secret2");
+        value.map = Map.of("key", "secret3");
+        value.plainList = List.of("public");
+
+        DualOutputWriter writer = DualOutputWriter.create(mapper.writer());
+
+        StringWriter plain = new StringWriter();
+        StringWriter masked = new StringWriter();
+        try (JsonGenerator plainGenerator = mapper.createGenerator(plain);
+                JsonGenerator maskedGenerator = mapper.createGenerator(masked)) {
+
+            writer.writeValue(value, plainGenerator, maskedGenerator);
+        }
+
+        assertEquals(mapper.writeValueAsString(value), plain.toString());
+
+        String maskedJson = masked.toString();
+        assertThat(maskedJson, containsString("\"list\":\"[*******, *******]\""));
+        assertThat(maskedJson, containsString("\"map\":\"{key=***}\""));
+        assertThat(maskedJson, containsString("\"plainList\":[\"public\"]"));
+        assertThat(maskedJson, not(containsString("secret")));
+    }
+
+    @Test
+    @DisplayName("writeValue with deserialized List and Map properties")
+    void testWriteValueWithDeserializedCollections() {
+        CollectionsClass value = mapper.readValue("{\"list\":[\"secret1\"],\"map\":{\"key\":\"secret2\"}}", CollectionsClass.class);
+
+        DualOutputWriter writer = DualOutputWriter.create(mapper.writer());
+
+        StringWriter plain = new StringWriter();
+        StringWriter masked = new StringWriter();
+        try (JsonGenerator plainGenerator = mapper.createGenerator(plain);
+                JsonGenerator maskedGenerator = mapper.createGenerator(masked)) {
+
+            writer.writeValue(value, plainGenerator, maskedGenerator);
+        }
+
+        assertThat(plain.toString(), containsString("\"list\":[\"secret1\"]"));
+        assertThat(plain.toString(), containsString("\"map\":{\"key\":\"secret2\"}"));
+
+        String maskedJson = masked.toString();
+        assertThat(maskedJson, containsString("\"list\":\"" + value.list + "\""));
+        assertThat(maskedJson, containsString("\"map\":\"" + value.map + "\""));
+        assertThat(maskedJson, not(containsString("secret")));
+    }
+
+    @Test
+    @DisplayName("writeValue with polymorphic elements")
+    void testWriteValueWithPolymorphicElements() {
+        AnimalsClass value = new AnimalsClass();
+        value.animals = List.of(new Dog("Rex"));
+
+        String expected = JsonMapper.builder().build().writeValueAsString(value);
+        assertThat(expected, containsString("\"@type\":\"dog\""));
+
+        // Regular serialization is the same as without the module, also for deserialized values
+        assertEquals(expected, mapper.writeValueAsString(value));
+        assertEquals(expected, mapper.writeValueAsString(mapper.readValue(expected, AnimalsClass.class)));
+
+        DualOutputWriter writer = DualOutputWriter.create(mapper.writer());
+
+        StringWriter plain = new StringWriter();
+        StringWriter masked = new StringWriter();
+        try (JsonGenerator plainGenerator = mapper.createGenerator(plain);
+                JsonGenerator maskedGenerator = mapper.createGenerator(masked)) {
+
+            writer.writeValue(value, plainGenerator, maskedGenerator);
+        }
+
+        assertEquals(expected, plain.toString());
+        assertThat(masked.toString(), containsString("\"animals\":\"[*"));
+        assertThat(masked.toString(), not(containsString("Rex")));
+    }
+
+    @Test
+    @DisplayName("regular serialization is not affected")
+    void testRegularSerializationNotAffected() {
+        AuditedClass value = new AuditedClass();
+        value.password = Obfuscator.fixedLength(3).obfuscateObject("secret");
+
+        DualOutputWriter.create(mapper.writer());
+
+        assertThat(mapper.writeValueAsString(value), containsString("\"password\":\"secret\""));
+    }
+
+    @Test
+    @DisplayName("null arguments")
+    void testNullArguments() {
+        DualOutputWriter writer = DualOutputWriter.create(mapper.writer());
+        JsonGenerator generator = mapper.createGenerator(new StringWriter());
+
+        assertThrows(NullPointerException.class, () -> DualOutputWriter.create(null));
+        assertThrows(NullPointerException.class, () -> writer.writeValue("foo", null, generator));
+        assertThrows(NullPointerException.class, () -> writer.writeValue("foo", generator, null));
+    }
+
+    public static final class AuditedClass {
+
+        public String name;
+        public Obfuscated<String> password;
+        public Obfuscated<Address> address;
+        public Obfuscated<List<String>> codes;
+        public Obfuscated<String> unset;
+    }
+
+    public static final class CollectionsClass {
+
+        @ObfuscateAll
+        public List<String> list;
+
+        @ObfuscateFixedLength(3)
+        public Map<String, String> map;
+
+        public List<String> plainList;
+    }
+
+    public static final class AnimalsClass {
+
+        @ObfuscateAll
+        public List<Animal> animals;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
+    @JsonSubTypes(@JsonSubTypes.Type(value = Dog.class, name = "dog"))
+    public interface Animal {
+        // no content
+    }
+
+    public static final class Dog implements Animal {
+
+        public String name;
+
+        public Dog() {
+        }
+
+        Dog(String name) {
+            this.name = name;
+        }
+    }
+
+    public static final class Address {
+
+        public String city;
+
+        Address(String city) {
+            this.city = city;
+        }
+    }
+}
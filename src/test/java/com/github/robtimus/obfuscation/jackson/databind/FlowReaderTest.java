@@ -0,0 +1,333 @@
+/*
+ * FlowReaderTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.ConvertedClass;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+@SuppressWarnings("nls")
+class FlowReaderTest {
+
+    private final ObjectReader reader = JsonMapper.builder()
+            .addModule(ObfuscationModule.defaultModule())
+            .build()
+            .reader();
+
+    @Test
+    @DisplayName("values split across chunks")
+    void testValuesSplitAcrossChunks() {
+        byte[] input = ndjson(100).getBytes(StandardCharsets.UTF_8);
+        ChunkPublisher publisher = new ChunkPublisher(input, 7);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        FlowReader<ConvertedClass> flowReader = FlowReader.create(reader, ConvertedClass.class);
+        publisher.subscribe(flowReader);
+        flowReader.subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        assertValues(subscriber.values, 100);
+    }
+
+    @Test
+    @DisplayName("backpressure")
+    void testBackpressure() {
+        byte[] input = ndjson(10_000).getBytes(StandardCharsets.UTF_8);
+        ChunkPublisher publisher = new ChunkPublisher(input, 64);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        FlowReader<ConvertedClass> flowReader = FlowReader.create(reader, ConvertedClass.class);
+        publisher.subscribe(flowReader);
+        flowReader.subscribe(subscriber);
+
+        // Nothing is requested from upstream without downstream demand
+        assertEquals(0, publisher.requested);
+
+        int bytesPerValue = input.length / 10_000 + 1;
+        for (int i = 1; i <= 10_000; i++) {
+            subscriber.subscription.request(1);
+            assertEquals(i, subscriber.values.size());
+            // Only the chunks needed for the values requested so far have been requested, plus at most one partial value
+            assertThat(publisher.requested * 64L, lessThanOrEqualTo((long) i * bytesPerValue + 2 * 64L));
+            assertThat(publisher.maxOutstanding, lessThanOrEqualTo(1L));
+        }
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.completed);
+        assertValues(subscriber.values, 10_000);
+    }
+
+    @Test
+    @DisplayName("with SubmissionPublisher")
+    void testWithSubmissionPublisher() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>(executor, 4)) {
+            FlowReader<ConvertedClass> flowReader = FlowReader.create(reader, ConvertedClass.class);
+            publisher.subscribe(flowReader);
+
+            CompletableFuture<List<ConvertedClass>> result = new CompletableFuture<>();
+            flowReader.subscribe(new Flow.Subscriber<ConvertedClass>() {
+                private final List<ConvertedClass> values = new ArrayList<>();
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(ConvertedClass item) {
+                    values.add(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    result.complete(values);
+                }
+            });
+
+            byte[] input = ndjson(1000).getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < input.length; i += 100) {
+                publisher.submit(ByteBuffer.wrap(input, i, Math.min(100, input.length - i)));
+            }
+            publisher.close();
+
+            assertValues(result.get(10, TimeUnit.SECONDS), 1000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("invalid input")
+    void testInvalidInput() {
+        ChunkPublisher publisher = new ChunkPublisher((json(0) + "\n{\"unknown").getBytes(StandardCharsets.UTF_8), 5);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        FlowReader<ConvertedClass> flowReader = FlowReader.create(reader, ConvertedClass.class);
+        publisher.subscribe(flowReader);
+        flowReader.subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(1, subscriber.values.size());
+        assertThat(subscriber.error, instanceOf(JacksonException.class));
+    }
+
+    @Test
+    @DisplayName("deserializer throws non-Jackson exception")
+    void testDeserializerThrowsNonJacksonException() {
+        ObjectReader failingReader = JsonMapper.builder()
+                .addModule(new SimpleModule().addDeserializer(ConvertedClass.class, new ValueDeserializer<>() {
+                    @Override
+                    public ConvertedClass deserialize(JsonParser p, DeserializationContext ctxt) {
+                        throw new IllegalStateException("deserialization failed");
+                    }
+                }))
+                .build()
+                .reader();
+
+        ChunkPublisher publisher = new ChunkPublisher(ndjson(2).getBytes(StandardCharsets.UTF_8), 10);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        FlowReader<ConvertedClass> flowReader = FlowReader.create(failingReader, ConvertedClass.class);
+        publisher.subscribe(flowReader);
+        flowReader.subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(0, subscriber.values.size());
+        assertThat(subscriber.error, instanceOf(RuntimeException.class));
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    @DisplayName("cancel")
+    void testCancel() {
+        ChunkPublisher publisher = new ChunkPublisher(ndjson(100).getBytes(StandardCharsets.UTF_8), 10);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        FlowReader<ConvertedClass> flowReader = FlowReader.create(reader, ConvertedClass.class);
+        publisher.subscribe(flowReader);
+        flowReader.subscribe(subscriber);
+
+        subscriber.subscription.request(5);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertEquals(5, subscriber.values.size());
+        assertTrue(publisher.cancelled);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    @DisplayName("non-positive request")
+    void testNonPositiveRequest() {
+        ChunkPublisher publisher = new ChunkPublisher(ndjson(1).getBytes(StandardCharsets.UTF_8), 10);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        FlowReader<ConvertedClass> flowReader = FlowReader.create(reader, ConvertedClass.class);
+        publisher.subscribe(flowReader);
+        flowReader.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    @DisplayName("second subscriber")
+    void testSecondSubscriber() {
+        FlowReader<ConvertedClass> flowReader = FlowReader.create(reader, ConvertedClass.class);
+        flowReader.subscribe(new CollectingSubscriber());
+
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        flowReader.subscribe(subscriber);
+
+        assertThat(subscriber.error, instanceOf(IllegalStateException.class));
+    }
+
+    private static String json(int i) {
+        return "{\"stringValue\":\"value" + i + "\",\"intValue\":" + i + "}";
+    }
+
+    private static String ndjson(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(FlowReaderTest::json)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static void assertValues(List<ConvertedClass> values, int count) {
+        assertEquals(count, values.size());
+        for (int i = 0; i < count; i++) {
+            ConvertedClass value = values.get(i);
+            assertEquals("value" + i, value.stringValue.value());
+            assertEquals(i, value.intValue.value());
+            assertEquals("***", value.stringValue.toString());
+        }
+    }
+
+    // A synchronous publisher that publishes fixed-size chunks of a byte array
+    private static final class ChunkPublisher implements Flow.Publisher<ByteBuffer> {
+
+        private final byte[] input;
+        private final int chunkSize;
+
+        private int offset = 0;
+        private long requested = 0;
+        private long outstanding = 0;
+        private long maxOutstanding = 0;
+        private boolean cancelled = false;
+        private boolean completed = false;
+
+        private ChunkPublisher(byte[] input, int chunkSize) {
+            this.input = input;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    outstanding += n;
+                    maxOutstanding = Math.max(maxOutstanding, outstanding);
+                    for (long i = 0; i < n && !cancelled && !completed; i++) {
+                        if (offset < input.length) {
+                            int length = Math.min(chunkSize, input.length - offset);
+                            ByteBuffer chunk = ByteBuffer.wrap(input, offset, length);
+                            offset += length;
+                            outstanding--;
+                            subscriber.onNext(chunk);
+                        } else {
+                            completed = true;
+                            subscriber.onComplete();
+                        }
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    private static final class CollectingSubscriber implements Flow.Subscriber<ConvertedClass> {
+
+        private final List<ConvertedClass> values = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed = false;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ConvertedClass item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
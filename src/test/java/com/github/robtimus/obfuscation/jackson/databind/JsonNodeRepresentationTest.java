@@ -0,0 +1,149 @@
+/*
+ * JsonNodeRepresentationTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.Obfuscated;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.ObfuscateNone;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class JsonNodeRepresentationTest {
+
+    private static final String JSON = "{\"name\":\"John \\\"Doe\\\"\",\"age\":42,\"active\":true,\"nickname\":null,"
+            + "\"cards\":[{\"number\":\"1234\",\"type\":\"visa\"},{\"number\":\"5678\",\"type\":\"amex\"}],"
+            + "\"address\":{\"city\":\"Utrecht\"}}";
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    @Nested
+    @DisplayName("toCharSequence(Object)")
+    class ToCharSequence {
+
+        @Test
+        @DisplayName("without settings")
+        void testWithoutSettings() {
+            JsonNode node = MAPPER.readTree(JSON);
+
+            JsonNodeRepresentation representation = JsonNodeRepresentation.builder().build();
+
+            assertEquals(node.toString(), representation.toCharSequence(node).toString());
+        }
+
+        @Test
+        @DisplayName("with max length")
+        void testWithMaxLength() {
+            JsonNode node = MAPPER.readTree(JSON);
+
+            JsonNodeRepresentation representation = JsonNodeRepresentation.builder()
+                    .withMaxLength(20)
+                    .build();
+
+            assertEquals(node.toString().substring(0, 20) + "...", representation.toCharSequence(node).toString());
+        }
+
+        @Test
+        @DisplayName("with max length not exceeded")
+        void testWithMaxLengthNotExceeded() {
+            JsonNode node = MAPPER.readTree(JSON);
+
+            JsonNodeRepresentation representation = JsonNodeRepresentation.builder()
+                    .withMaxLength(JSON.length())
+                    .build();
+
+            assertEquals(node.toString(), representation.toCharSequence(node).toString());
+        }
+
+        @Test
+        @DisplayName("with masked paths")
+        void testWithMaskedPaths() {
+            JsonNode node = MAPPER.readTree(JSON);
+
+            JsonNodeRepresentation representation = JsonNodeRepresentation.builder()
+                    .withMaskedPath("/name", Obfuscator.portion().keepAtStart(1).build())
+                    .withMaskedPath("/age", Obfuscator.fixedLength(3))
+                    .withMaskedPath("/cards/*/number", Obfuscator.fixedLength(4))
+                    .withMaskedPath("/cards/1/type", Obfuscator.fixedLength(2))
+                    .withMaskedPath("/address", Obfuscator.fixedValue("<address>"))
+                    .withMaskedPath("/unknown", Obfuscator.all())
+                    .build();
+
+            String expected = "{\"name\":\"J*********\",\"age\":\"***\",\"active\":true,\"nickname\":null,"
+                    + "\"cards\":[{\"number\":\"****\",\"type\":\"visa\"},{\"number\":\"****\",\"type\":\"**\"}],"
+                    + "\"address\":\"<address>\"}";
+
+            assertEquals(expected, representation.toCharSequence(node).toString());
+        }
+
+        @Test
+        @DisplayName("with masked paths and max length")
+        void testWithMaskedPathsAndMaxLength() {
+            JsonNode node = MAPPER.readTree(JSON);
+
+            JsonNodeRepresentation representation = JsonNodeRepresentation.builder()
+                    .withMaskedPath("/name", Obfuscator.fixedLength(3))
+                    .withMaxLength(15)
+                    .build();
+
+            assertEquals("{\"name\":\"***\",\"...", representation.toCharSequence(node).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("invalid builder arguments")
+    void testInvalidBuilderArguments() {
+        JsonNodeRepresentation.Builder builder = JsonNodeRepresentation.builder();
+        Obfuscator obfuscator = Obfuscator.all();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.withMaxLength(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.withMaskedPath("name", obfuscator));
+        assertThrows(NullPointerException.class, () -> builder.withMaskedPath(null, obfuscator));
+        assertThrows(NullPointerException.class, () -> builder.withMaskedPath("/name", null));
+    }
+
+    @Test
+    @DisplayName("as default character representation")
+    void testAsDefaultCharacterRepresentation() {
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.builder()
+                        .withDefaultCharacterRepresentation(JsonNode.class, JsonNodeRepresentation.builder()
+                                .withMaskedPath("/cards/*/number", Obfuscator.fixedLength(3))
+                                .build())
+                        .build())
+                .build();
+
+        JsonNodeClass deserialized = mapper.readValue("{\"node\":" + JSON + "}", JsonNodeClass.class);
+
+        assertEquals(MAPPER.readTree(JSON), deserialized.node.value());
+        assertEquals("{\"name\":\"John \\\"Doe\\\"\",\"age\":42,\"active\":true,\"nickname\":null,"
+                + "\"cards\":[{\"number\":\"***\",\"type\":\"visa\"},{\"number\":\"***\",\"type\":\"amex\"}],"
+                + "\"address\":{\"city\":\"Utrecht\"}}", deserialized.node.toString());
+    }
+
+    public static final class JsonNodeClass {
+
+        @ObfuscateNone
+        public Obfuscated<JsonNode> node;
+    }
+}
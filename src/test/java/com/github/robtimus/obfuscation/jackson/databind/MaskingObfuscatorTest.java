@@ -0,0 +1,190 @@
+/*
+ * MaskingObfuscatorTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.ConvertedClass;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class MaskingObfuscatorTest {
+
+    @Test
+    @DisplayName("all")
+    void testAll() {
+        Obfuscator obfuscator = MaskingObfuscator.all('x');
+
+        assertEquals("xxxxxx", obfuscator.obfuscateText("foobar").toString());
+        assertEquals("xx", obfuscator.obfuscateText("foobar", 2, 4).toString());
+        assertEquals("", obfuscator.obfuscateText("").toString());
+    }
+
+    @Test
+    @DisplayName("portion")
+    void testPortion() {
+        Obfuscator obfuscator = MaskingObfuscator.portion(2, 3, '*');
+
+        assertEquals("fo*****789", obfuscator.obfuscateText("foo1234789").toString());
+        assertEquals("fo*bar", obfuscator.obfuscateText("foobar").toString());
+        // characters at the start take precedence
+        assertEquals("foo", obfuscator.obfuscateText("foo").toString());
+        assertEquals("fo", obfuscator.obfuscateText("fo").toString());
+    }
+
+    @Test
+    @DisplayName("invalid portion")
+    void testInvalidPortion() {
+        assertThrows(IllegalArgumentException.class, () -> MaskingObfuscator.portion(-1, 0, '*'));
+        assertThrows(IllegalArgumentException.class, () -> MaskingObfuscator.portion(0, -1, '*'));
+    }
+
+    @Test
+    @DisplayName("invalid indexes")
+    void testInvalidIndexes() {
+        Obfuscator obfuscator = MaskingObfuscator.all('*');
+
+        assertThrows(IndexOutOfBoundsException.class, () -> obfuscator.obfuscateText("foo", 2, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> obfuscator.obfuscateText("foo", 2, 1));
+    }
+
+    @Nested
+    @DisplayName("same results as obfuscation-core")
+    class SameResults {
+
+        @ParameterizedTest(name = "{0} characters, {1}")
+        @MethodSource("com.github.robtimus.obfuscation.jackson.databind.MaskingObfuscatorTest#equivalentObfuscators")
+        @DisplayName("obfuscateText(CharSequence)")
+        void testObfuscateText(int length, String description, Obfuscator expected, Obfuscator actual) {
+            String text = text(length);
+
+            assertEquals(expected.obfuscateText(text).toString(), actual.obfuscateText(text).toString());
+            assertEquals(expected.obfuscateText(new StringBuilder(text)).toString(), actual.obfuscateText(new StringBuilder(text)).toString());
+        }
+
+        @ParameterizedTest(name = "{0} characters, {1}")
+        @MethodSource("com.github.robtimus.obfuscation.jackson.databind.MaskingObfuscatorTest#equivalentObfuscators")
+        @DisplayName("obfuscateText(CharSequence, StringBuilder)")
+        void testObfuscateTextToStringBuilder(int length, String description, Obfuscator expected, Obfuscator actual) {
+            String text = text(length);
+
+            StringBuilder expectedResult = new StringBuilder("prefix:");
+            expected.obfuscateText(text, expectedResult);
+            StringBuilder actualResult = new StringBuilder("prefix:");
+            actual.obfuscateText(text, actualResult);
+
+            assertEquals(expectedResult.toString(), actualResult.toString());
+        }
+
+        @ParameterizedTest(name = "{0} characters, {1}")
+        @MethodSource("com.github.robtimus.obfuscation.jackson.databind.MaskingObfuscatorTest#equivalentObfuscators")
+        @DisplayName("obfuscateText(Reader, Appendable)")
+        void testObfuscateReader(int length, String description, Obfuscator expected, Obfuscator actual) throws IOException {
+            String text = text(length);
+
+            StringWriter expectedResult = new StringWriter();
+            expected.obfuscateText(new StringReader(text), expectedResult);
+            StringWriter actualResult = new StringWriter();
+            actual.obfuscateText(new StringReader(text), actualResult);
+
+            assertEquals(expectedResult.toString(), actualResult.toString());
+        }
+
+        @ParameterizedTest(name = "{0} characters, {1}")
+        @MethodSource("com.github.robtimus.obfuscation.jackson.databind.MaskingObfuscatorTest#equivalentObfuscators")
+        @DisplayName("streamTo")
+        void testStreamTo(int length, String description, Obfuscator expected, Obfuscator actual) throws IOException {
+            String text = text(length);
+
+            StringBuilder expectedResult = new StringBuilder();
+            try (Writer writer = expected.streamTo(expectedResult)) {
+                writeInChunks(text, writer);
+            }
+            StringBuilder actualResult = new StringBuilder();
+            try (Writer writer = actual.streamTo(actualResult)) {
+                writeInChunks(text, writer);
+            }
+
+            assertEquals(expectedResult.toString(), actualResult.toString());
+        }
+
+        private void writeInChunks(String text, Writer writer) throws IOException {
+            // Use chunks that don't align with the number of characters to keep
+            for (int i = 0; i < text.length(); i += 7) {
+                writer.write(text, i, Math.min(7, text.length() - i));
+            }
+        }
+
+        private String text(int length) {
+            StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                sb.append((char) ('a' + i % 26));
+            }
+            return sb.toString();
+        }
+    }
+
+    static Stream<Arguments> equivalentObfuscators() {
+        // 16 B to 64 KB of text
+        return Stream.of(16, 256, 4096, 65536)
+                .flatMap(length -> Stream.of(
+                        Arguments.of(length, "all", Obfuscator.all('*'), MaskingObfuscator.all('*')),
+                        Arguments.of(length, "keep at start", Obfuscator.portion().keepAtStart(4).withMaskChar('#').build(),
+                                MaskingObfuscator.portion(4, 0, '#')),
+                        Arguments.of(length, "keep at end", Obfuscator.portion().keepAtEnd(4).withMaskChar('#').build(),
+                                MaskingObfuscator.portion(0, 4, '#')),
+                        Arguments.of(length, "keep at start and end", Obfuscator.portion().keepAtStart(3).keepAtEnd(5).build(),
+                                MaskingObfuscator.portion(3, 5, '*'))));
+    }
+
+    @Test
+    @DisplayName("with module")
+    void testWithModule() {
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.builder()
+                        .withDefaultObfuscator(String.class, MaskingObfuscator.portion(0, 4, '*'))
+                        .build())
+                .build();
+
+        ConvertedClass deserialized = mapper.readValue("{\"stringValue\":\"1234567890\",\"intValue\":1}", ConvertedClass.class);
+
+        assertEquals("******7890", deserialized.stringValue.toString());
+    }
+
+    @Test
+    @DisplayName("equals and hashCode")
+    void testEqualsAndHashCode() {
+        Obfuscator obfuscator = MaskingObfuscator.portion(1, 2, '*');
+
+        assertEquals(obfuscator, MaskingObfuscator.portion(1, 2, '*'));
+        assertEquals(obfuscator.hashCode(), MaskingObfuscator.portion(1, 2, '*').hashCode());
+        assertEquals(MaskingObfuscator.all('*'), MaskingObfuscator.portion(0, 0, '*'));
+    }
+}
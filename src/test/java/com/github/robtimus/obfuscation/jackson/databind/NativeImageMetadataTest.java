@@ -0,0 +1,182 @@
+/*
+ * NativeImageMetadataTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class NativeImageMetadataTest {
+
+    private static final String METADATA_DIR = "/META-INF/native-image/com.github.robtimus/obfuscation-jackson-databind/";
+
+    private static final String PACKAGE_PREFIX = ObfuscationModule.class.getPackageName() + ".";
+
+    @Test
+    @DisplayName("reflect-config.json contains all built-in character representation providers")
+    void testReflectConfig() throws IOException {
+        Set<String> registeredTypes = readTypes("reflect-config.json");
+
+        for (Class<?> nestedType : CharacterRepresentationProvider.class.getClasses()) {
+            if (isInstantiableProvider(nestedType)) {
+                assertThat(registeredTypes, hasItem(nestedType.getName()));
+            }
+        }
+        for (String registeredType : registeredTypes) {
+            Class<?> type = assertDoesNotThrow(() -> Class.forName(registeredType));
+            assertTrue(isInstantiableProvider(type), registeredType);
+        }
+    }
+
+    @Test
+    @DisplayName("serialization-config.json contains all serialized types")
+    void testSerializationConfig() throws IOException {
+        Set<String> registeredTypes = readTypes("serialization-config.json");
+
+        ObfuscationModule module = ObfuscationModule.builder()
+                .withDefaultCharacterRepresentation(Number.class, (CharacterRepresentationProvider & Serializable) s -> "<number>")
+                .withDefaultCharacterRepresentation(CharSequence.class, (CharacterRepresentationProvider & Serializable) s -> "<charSequence>")
+                .withDefaultCharacterRepresentation(Boolean.class, CachingCharacterRepresentationProvider
+                        .builder((CharacterRepresentationProvider & Serializable) s -> "<boolean>")
+                        .build())
+                .build();
+
+        // The values of finite domains are serialized as immutable lists
+        ObfuscationModule moduleWithFiniteDomains = ObfuscationModule.builder()
+                .withFiniteDomain(String.class, List.of("active", "inactive", "suspended"))
+                .withFiniteDomain(Integer.class, List.of(1, 2))
+                .withFiniteDomain(Long.class, Set.of(1L))
+                .build();
+
+        Set<String> serializedTypes = serializedTypes(ObfuscationModule.defaultModule(), module, moduleWithFiniteDomains,
+                new ObfuscatedBeanSerializerModifier(module), new ObfuscatedBeanDeserializerModifier(module));
+
+        assertThat(serializedTypes, hasItem("java.util.CollSer"));
+        assertThat(serializedTypes, hasItem(Integer.class.getName()));
+
+        for (String serializedType : serializedTypes) {
+            if (serializedType.startsWith(PACKAGE_PREFIX) || serializedType.startsWith("[L" + PACKAGE_PREFIX)
+                    || serializedType.startsWith("java.util.") || serializedType.startsWith("tools.jackson.")
+                    || serializedType.equals(Number.class.getName()) || serializedType.equals(Integer.class.getName())
+                    || serializedType.equals(Long.class.getName())) {
+
+                assertThat(registeredTypes, hasItem(serializedType));
+            }
+        }
+        for (String registeredType : registeredTypes) {
+            assertDoesNotThrow(() -> Class.forName(registeredType));
+        }
+    }
+
+    @Test
+    @DisplayName("serialization-config.json contains all types serialized for modules with a factory")
+    void testSerializationConfigWithFactory() throws IOException {
+        Set<String> registeredTypes = readTypes("serialization-config.json");
+
+        ObfuscationModule module = createModule();
+
+        Set<String> serializedTypes = serializedTypes(module);
+
+        assertThat(serializedTypes, hasItem(ObfuscationModule.class.getName() + "$FactoryForm"));
+
+        for (String serializedType : serializedTypes) {
+            // The class that captures the lambda or method reference belongs to the application, which needs to register it itself
+            if (!serializedType.equals(NativeImageMetadataTest.class.getName())) {
+                assertThat(registeredTypes, hasItem(serializedType));
+            }
+        }
+    }
+
+    private static ObfuscationModule createModule() {
+        return ObfuscationModule.builder()
+                .withDefaultObfuscator(Obfuscator.fixedLength(8))
+                .serializeUsing(NativeImageMetadataTest::createModule)
+                .build();
+    }
+
+    private static boolean isInstantiableProvider(Class<?> type) {
+        if (!CharacterRepresentationProvider.class.isAssignableFrom(type) || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        try {
+            return Modifier.isPublic(type.getConstructor().getModifiers());
+        } catch (@SuppressWarnings("unused") NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Set<String> readTypes(String fileName) throws IOException {
+        try (InputStream input = NativeImageMetadataTest.class.getResourceAsStream(METADATA_DIR + fileName)) {
+            assertNotNull(input, fileName);
+
+            List<Map<String, Object>> entries = JsonMapper.builder().build().readValue(input, new TypeReference<List<Map<String, Object>>>() {
+                // no body
+            });
+            return entries.stream()
+                    .map(entry -> (String) entry.get("name"))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+    }
+
+    private static Set<String> serializedTypes(Object... objects) throws IOException {
+        Set<String> types = new LinkedHashSet<>();
+        try (ObjectOutputStream output = new TypeCollectingObjectOutputStream(new ByteArrayOutputStream(), types)) {
+            for (Object object : objects) {
+                output.writeObject(object);
+            }
+        }
+        return types;
+    }
+
+    private static final class TypeCollectingObjectOutputStream extends ObjectOutputStream {
+
+        private final Set<String> types;
+
+        private TypeCollectingObjectOutputStream(OutputStream output, Set<String> types) throws IOException {
+            super(output);
+            this.types = types;
+        }
+
+        @Override
+        protected void annotateClass(Class<?> cl) throws IOException {
+            types.add(cl.getName());
+            super.annotateClass(cl);
+        }
+    }
+}
@@ -21,36 +21,60 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.io.StringWriter;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.robtimus.obfuscation.Obfuscated;
 import com.github.robtimus.obfuscation.Obfuscator;
@@ -62,6 +86,10 @@ import com.github.robtimus.obfuscation.annotation.ObfuscateNone;
 import com.github.robtimus.obfuscation.annotation.ObfuscatePortion;
 import com.github.robtimus.obfuscation.annotation.ObjectFactory;
 import com.github.robtimus.obfuscation.annotation.RepresentedBy;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModule.Profile;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import tools.jackson.core.JacksonException.Reference;
 import tools.jackson.core.JsonGenerator;
 import tools.jackson.core.JsonParser;
@@ -76,6 +104,7 @@ import tools.jackson.databind.annotation.JsonDeserialize;
 import tools.jackson.databind.annotation.JsonSerialize;
 import tools.jackson.databind.cfg.DateTimeFeature;
 import tools.jackson.databind.exc.InvalidDefinitionException;
+import tools.jackson.databind.exc.MismatchedInputException;
 import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.util.ClassUtil;
 
@@ -666,6 +695,1118 @@ class ObfuscationModuleTest {
         }
     }
 
+    @Nested
+    @DisplayName("profiles")
+    class ProfilesTest {
+
+        private final ObfuscationModule module = ObfuscationModule.builder()
+                .withDefaultObfuscator(CharSequence.class, Obfuscator.fixedLength(5))
+                .withProfileObfuscator("strict", Obfuscator.fixedValue("<strict>"))
+                .withProfileObfuscator("strict", Number.class, Obfuscator.fixedValue("<number>"))
+                .withProfileObfuscator("strict", String.class, Obfuscator.fixedLength(8))
+                .withProfileObfuscator("lenient", Obfuscator.none())
+                .build();
+
+        private final JsonMapper mapper = JsonMapper.builder()
+                .addModule(module)
+                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        private final String json = mapper.writeValueAsString(new TestClass());
+
+        @Test
+        @DisplayName("without profile")
+        void testWithoutProfile() {
+            TestClass deserialized = mapper.readValue(json, TestClass.class);
+
+            assertEquals("*****", deserialized.stringValue.toString());
+            assertEquals("***", deserialized.intValue.toString());
+            assertEquals("***", deserialized.dateValue.toString());
+            assertEquals("<<13>>", deserialized.nestedClass.toString());
+            assertEquals("[*****, *****]", deserialized.stringList.toString());
+            assertEquals("[1, 2]", deserialized.intList.toString());
+            assertEquals("[********, ********]", deserialized.obfuscatedList.toString());
+        }
+
+        @Test
+        @DisplayName("with strict profile")
+        void testWithStrictProfile() {
+            Profile profile = module.profile("strict");
+
+            TestClass deserialized = profile.applyTo(mapper.readerFor(TestClass.class)).readValue(json);
+
+            assertEquals("********", deserialized.stringValue.toString());
+            assertEquals("<number>", deserialized.intValue.toString());
+            assertEquals("<strict>", deserialized.dateValue.toString());
+            assertEquals("<<13>>", deserialized.nestedClass.toString());
+            assertEquals("[********, ********]", deserialized.stringList.toString());
+            assertEquals("[<number>, <number>]", deserialized.intList.toString());
+            assertEquals("[********, ********]", deserialized.obfuscatedList.toString());
+
+            assertEquals(mapper.readValue(json, TestClass.class).intList, deserialized.intList);
+        }
+
+        @Test
+        @DisplayName("with lenient profile")
+        void testWithLenientProfile() {
+            Profile profile = module.profile("lenient");
+
+            TestClass deserialized = profile.applyTo(mapper.readerFor(TestClass.class)).readValue(json);
+
+            assertEquals("*****", deserialized.stringValue.toString());
+            assertEquals("1", deserialized.intValue.toString());
+            assertEquals("<<13>>", deserialized.nestedClass.toString());
+            assertEquals("[*****, *****]", deserialized.stringList.toString());
+            assertEquals("[1, 2]", deserialized.intList.toString());
+            assertEquals("[********, ********]", deserialized.obfuscatedList.toString());
+        }
+
+        @Test
+        @DisplayName("with profile of other module")
+        void testWithProfileOfOtherModule() {
+            Profile profile = ObfuscationModule.builder()
+                    .withProfileObfuscator("strict", Obfuscator.fixedValue("<other>"))
+                    .build()
+                    .profile("strict");
+
+            TestClass deserialized = profile.applyTo(mapper.readerFor(TestClass.class)).readValue(json);
+
+            assertEquals("*****", deserialized.stringValue.toString());
+            assertEquals("***", deserialized.intValue.toString());
+            assertEquals("***", deserialized.dateValue.toString());
+            assertEquals("[1, 2]", deserialized.intList.toString());
+        }
+
+        @Test
+        @DisplayName("profile(String)")
+        void testProfile() {
+            Profile profile = module.profile("strict");
+
+            assertEquals("strict", profile.name());
+            assertEquals("strict", profile.toString());
+            assertSame(profile, module.profile("strict"));
+
+            assertThrows(IllegalArgumentException.class, () -> module.profile("unknown"));
+            assertThrows(IllegalArgumentException.class, () -> ObfuscationModule.defaultModule().profile("strict"));
+        }
+    }
+
+    @Nested
+    @DisplayName("reload")
+    class ReloadTest {
+
+        @Test
+        @DisplayName("reloadable module")
+        void testReloadableModule() {
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .reloadable(true)
+                    .build();
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(module)
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+
+            String json = mapper.writeValueAsString(new TestClass());
+
+            TestClass deserialized = mapper.readValue(json, TestClass.class);
+
+            assertEquals("***", deserialized.stringValue.toString());
+            assertEquals("***", deserialized.intValue.toString());
+            assertEquals("[foo, bar]", deserialized.stringList.toString());
+            assertEquals("[1, 2]", deserialized.intList.toString());
+            assertEquals("[********, ********]", deserialized.obfuscatedList.toString());
+
+            module.reload(ObfuscationModule.builder()
+                    .withDefaultObfuscator(Obfuscator.fixedValue("<default>"))
+                    .withDefaultObfuscator(Number.class, Obfuscator.fixedValue("<number>")));
+
+            deserialized = mapper.readValue(json, TestClass.class);
+
+            assertEquals("<default>", deserialized.stringValue.toString());
+            assertEquals("<number>", deserialized.intValue.toString());
+            assertEquals("[foo, bar]", deserialized.stringList.toString());
+            assertEquals("[<number>, <number>]", deserialized.intList.toString());
+            assertEquals("[********, ********]", deserialized.obfuscatedList.toString());
+
+            module.reload(ObfuscationModule.builder());
+
+            deserialized = mapper.readValue(json, TestClass.class);
+
+            assertEquals("***", deserialized.stringValue.toString());
+            assertEquals("***", deserialized.intValue.toString());
+            assertEquals("[1, 2]", deserialized.intList.toString());
+        }
+
+        @Test
+        @DisplayName("reloadable module with profiles")
+        void testReloadableModuleWithProfiles() {
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .withProfileObfuscator("strict", Obfuscator.fixedValue("<strict>"))
+                    .withProfileObfuscator("lenient", Obfuscator.none())
+                    .reloadable(true)
+                    .build();
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(module)
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+
+            String json = mapper.writeValueAsString(new TestClass());
+
+            Profile strict = module.profile("strict");
+            Profile lenient = module.profile("lenient");
+
+            TestClass deserialized = strict.applyTo(mapper.readerFor(TestClass.class)).readValue(json);
+
+            assertEquals("<strict>", deserialized.stringValue.toString());
+            assertEquals("[1, 2]", deserialized.intList.toString());
+
+            module.reload(ObfuscationModule.builder()
+                    .withProfileObfuscator("strict", Number.class, Obfuscator.fixedValue("<number>")));
+
+            deserialized = strict.applyTo(mapper.readerFor(TestClass.class)).readValue(json);
+
+            assertEquals("***", deserialized.stringValue.toString());
+            assertEquals("<number>", deserialized.intValue.toString());
+            assertEquals("[<number>, <number>]", deserialized.intList.toString());
+
+            // lenient is not part of the reloaded settings, so it uses the module's own settings
+            deserialized = lenient.applyTo(mapper.readerFor(TestClass.class)).readValue(json);
+
+            assertEquals("***", deserialized.stringValue.toString());
+            assertEquals("[1, 2]", deserialized.intList.toString());
+
+            assertSame(strict, module.profile("strict"));
+        }
+
+        @Test
+        @DisplayName("reloadable module requiring obfuscator annotation")
+        void testReloadableModuleRequiringObfuscatorAnnotation() {
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .requireObfuscatorAnnotation(true)
+                    .reloadable(true)
+                    .build();
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(module)
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+
+            String json = mapper.writeValueAsString(new TestClass());
+
+            module.reload(ObfuscationModule.builder()
+                    .withDefaultObfuscator(Number.class, Obfuscator.fixedValue("<number>")));
+
+            TestClass deserialized = mapper.readValue(json, TestClass.class);
+
+            assertEquals("<number>", deserialized.intValue.toString());
+            assertEquals("[1, 2]", deserialized.intList.toString());
+            assertEquals("[********, ********]", deserialized.obfuscatedList.toString());
+        }
+
+        @Test
+        @DisplayName("with unknown profile")
+        void testWithUnknownProfile() {
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .withProfileObfuscator("strict", Obfuscator.fixedValue("<strict>"))
+                    .reloadable(true)
+                    .build();
+
+            ObfuscationModule.Builder builder = ObfuscationModule.builder()
+                    .withProfileObfuscator("unknown", Obfuscator.fixedValue("<unknown>"));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> module.reload(builder));
+            assertEquals("Unknown profile: unknown", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("non-reloadable module")
+        void testNonReloadableModule() {
+            ObfuscationModule module = ObfuscationModule.builder().build();
+            ObfuscationModule.Builder builder = ObfuscationModule.builder();
+
+            assertThrows(IllegalStateException.class, () -> module.reload(builder));
+            assertThrows(IllegalStateException.class, () -> ObfuscationModule.defaultModule().reload(builder));
+        }
+    }
+
+    @Nested
+    @DisplayName("monitoring")
+    class MonitoringTest {
+
+        @Test
+        @DisplayName("with metrics listener for non-property values")
+        void testWithMetricsListenerForNonPropertyValues() {
+            ObfuscationMetricsListener listener = mock(ObfuscationMetricsListener.class);
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withMetricsListener(listener)
+                            .build())
+                    .build();
+
+            DynamicClass original = new DynamicClass();
+            original.setDynamicProperty("password", Obfuscator.all().obfuscateObject("secret"));
+
+            String json = mapper.writeValueAsString(original);
+
+            assertThat(json, containsString("\"password\":\"secret\""));
+            verify(listener).valueSerialized(null, null, String.class);
+        }
+
+        @Test
+        @DisplayName("with metrics listener")
+        void testWithMetricsListener() {
+            ObfuscationMetricsListener listener = mock(ObfuscationMetricsListener.class);
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withMetricsListener(listener)
+                            .build())
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+
+            String json = mapper.writeValueAsString(new TestClass());
+
+            verify(listener).valueSerialized(TestClass.class, "stringValue", String.class);
+            verify(listener).valueSerialized(TestClass.class, "intValue", Integer.class);
+
+            TestClass deserialized = mapper.readValue(json, TestClass.class);
+
+            verify(listener).valueDeserialized(eq(TestClass.class), eq("stringValue"), eq(String.class), any(Obfuscator.class));
+            verify(listener).valueDeserialized(eq(TestClass.class), eq("obfuscatedList"), eq(String.class), any(Obfuscator.class));
+            verify(listener, never()).valueDeserialized(eq(TestClass.class), eq("stringList"), any(), any());
+
+            assertEquals("***", deserialized.stringValue.toString());
+
+            verify(listener).representationComputed(eq(String.class), eq(3), anyLong());
+        }
+
+        @Test
+        @DisplayName("with flight recorder events")
+        void testWithFlightRecorderEvents(@TempDir Path tempDir) throws IOException {
+            List<RecordedEvent> events = recordEvents(true, tempDir);
+
+            RecordedEvent deserializedEvent = events.stream()
+                    .filter(e -> "com.github.robtimus.obfuscation.jackson.databind.ValueDeserialized".equals(e.getEventType().getName()))
+                    .filter(e -> "stringValue".equals(e.getString("property")))
+                    .findAny()
+                    .orElseThrow();
+
+            assertEquals(TestClass.class.getName(), deserializedEvent.getClass("beanType").getName());
+            assertEquals(String.class.getName(), deserializedEvent.getClass("valueType").getName());
+            assertEquals(3, deserializedEvent.getInt("valueLength"));
+
+            RecordedEvent representationEvent = events.stream()
+                    .filter(e -> "com.github.robtimus.obfuscation.jackson.databind.RepresentationComputed".equals(e.getEventType().getName()))
+                    .filter(e -> String.class.getName().equals(e.getClass("valueType").getName()))
+                    .findAny()
+                    .orElseThrow();
+
+            assertEquals(3, representationEvent.getInt("length"));
+        }
+
+        @Test
+        @DisplayName("without flight recorder events")
+        void testWithoutFlightRecorderEvents(@TempDir Path tempDir) throws IOException {
+            List<RecordedEvent> events = recordEvents(false, tempDir);
+
+            assertEquals(Collections.emptyList(), events);
+        }
+
+        private List<RecordedEvent> recordEvents(boolean flightRecorderEvents, Path tempDir) throws IOException {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .flightRecorderEvents(flightRecorderEvents)
+                            .build())
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+
+            String json = mapper.writeValueAsString(new TestClass());
+
+            try (Recording recording = new Recording()) {
+                recording.enable("com.github.robtimus.obfuscation.jackson.databind.ValueDeserialized");
+                recording.enable("com.github.robtimus.obfuscation.jackson.databind.RepresentationComputed");
+                recording.start();
+
+                TestClass deserialized = mapper.readValue(json, TestClass.class);
+                assertEquals("***", deserialized.stringValue.toString());
+
+                recording.stop();
+
+                Path file = tempDir.resolve("recording.jfr");
+                recording.dump(file);
+                return RecordingFile.readAllEvents(file);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("conversion")
+    class ConversionTest {
+
+        @Test
+        @DisplayName("preserving Obfuscated")
+        void testPreservingObfuscated() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .preserveObfuscatedOnConversion(true)
+                            .build())
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+
+            TestClass original = new TestClass();
+
+            ConvertedClass converted = mapper.convertValue(original, ConvertedClass.class);
+
+            assertSame(original.stringValue, converted.stringValue);
+            assertSame(original.intValue, converted.intValue);
+            assertEquals("***", converted.stringValue.toString());
+            assertEquals("*", converted.intValue.toString());
+
+            // Regular serialization is not affected
+            String json = mapper.writeValueAsString(original);
+            assertThat(json, containsString("\"stringValue\":\"foo\""));
+        }
+
+        @Test
+        @DisplayName("preserving Obfuscated with different value type")
+        void testPreservingObfuscatedWithDifferentValueType() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .preserveObfuscatedOnConversion(true)
+                            .build())
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+
+            TestClass original = new TestClass();
+
+            RetypedConvertedClass converted = mapper.convertValue(original, RetypedConvertedClass.class);
+
+            Object value = converted.intValue.value();
+            assertEquals("1", value);
+            assertEquals("***", converted.intValue.toString());
+        }
+
+        @Test
+        @DisplayName("preserving Obfuscated with property obfuscator")
+        void testPreservingObfuscatedWithPropertyObfuscator() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .preserveObfuscatedOnConversion(true)
+                            .build())
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+
+            TestClass original = new TestClass();
+
+            AnnotatedConvertedClass converted = mapper.convertValue(original, AnnotatedConvertedClass.class);
+
+            assertNotSame(original.stringValue, converted.stringValue);
+            assertEquals("foo", converted.stringValue.value());
+            assertEquals("<converted>", converted.stringValue.toString());
+            assertSame(original.intValue, converted.intValue);
+        }
+
+        @Test
+        @DisplayName("not preserving Obfuscated")
+        void testNotPreservingObfuscated() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.defaultModule())
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+
+            TestClass original = new TestClass();
+
+            ConvertedClass converted = mapper.convertValue(original, ConvertedClass.class);
+
+            assertNotSame(original.stringValue, converted.stringValue);
+            assertEquals(original.stringValue, converted.stringValue);
+            assertEquals("***", converted.stringValue.toString());
+            assertEquals("***", converted.intValue.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("finite domains")
+    class FiniteDomainsTest {
+
+        @Test
+        @DisplayName("enum values")
+        void testEnumValues() {
+            AtomicInteger count = new AtomicInteger();
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDefaultCharacterRepresentation(Level.class, value -> {
+                                count.incrementAndGet();
+                                return value.toString().toLowerCase();
+                            })
+                            .build())
+                    .build();
+
+            FiniteDomainClass deserialized = mapper.readValue("{\"level\":\"HIGH\"}", FiniteDomainClass.class);
+            // The representations of all values have been computed when the deserializer was created
+            int initialCount = count.get();
+
+            assertEquals(Level.HIGH, deserialized.level.value());
+            assertEquals("hi***", deserialized.level.toString());
+            assertEquals("hi***", deserialized.level.toString());
+            assertEquals(initialCount, count.get());
+        }
+
+        @Test
+        @DisplayName("mapped enum values")
+        void testMappedEnumValues() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.defaultModule())
+                    .build();
+
+            FiniteDomainClass deserialized = mapper.readValue("{\"level\":\"HIGH\"}", FiniteDomainClass.class);
+
+            assertEquals("HI***", deserialized.level.toString());
+            // Derived values are obfuscated using the property's obfuscator, not passed through like the precomputed representation
+            assertEquals("hi***", deserialized.level.map(level -> level.name().toLowerCase()).toString());
+            assertEquals("HI***", deserialized.level.cached().toString());
+            assertEquals("HI***", deserialized.level.cached().map(Level::name).toString());
+        }
+
+        @Test
+        @DisplayName("boolean values")
+        void testBooleanValues() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.defaultModule())
+                    .build();
+
+            FiniteDomainClass deserialized = mapper.readValue("{\"enabled\":true,\"disabled\":false}", FiniteDomainClass.class);
+
+            assertEquals(Boolean.TRUE, deserialized.enabled.value());
+            assertEquals("tr***", deserialized.enabled.toString());
+            assertEquals(Boolean.FALSE, deserialized.disabled.value());
+            assertEquals("fa***", deserialized.disabled.toString());
+        }
+
+        @Test
+        @DisplayName("explicit values")
+        void testExplicitValues() {
+            AtomicInteger count = new AtomicInteger();
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDefaultCharacterRepresentation(String.class, value -> {
+                                count.incrementAndGet();
+                                return value.toString();
+                            })
+                            .withFiniteDomain(String.class, List.of("active", "inactive"))
+                            .build())
+                    .build();
+
+            FiniteDomainClass known = mapper.readValue("{\"status\":\"inactive\"}", FiniteDomainClass.class);
+            int initialCount = count.get();
+
+            assertEquals("inactive", known.status.value());
+            assertEquals("in***", known.status.toString());
+            assertEquals(initialCount, count.get());
+
+            FiniteDomainClass unknown = mapper.readValue("{\"status\":\"unknown\"}", FiniteDomainClass.class);
+
+            // Values outside the domain are obfuscated as usual
+            assertEquals("unknown", unknown.status.value());
+            assertEquals("un***", unknown.status.toString());
+            assertEquals(initialCount + 1, count.get());
+        }
+
+        @Test
+        @DisplayName("with profiles")
+        void testWithProfiles() {
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .withDefaultObfuscator(Level.class, Obfuscator.fixedLength(3))
+                    .withProfileObfuscator("audit", Level.class, Obfuscator.none())
+                    .build();
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(module)
+                    .build();
+
+            String json = "{\"defaultLevel\":\"LOW\"}";
+
+            FiniteDomainClass deserialized = mapper.readValue(json, FiniteDomainClass.class);
+            assertEquals("***", deserialized.defaultLevel.toString());
+
+            deserialized = module.profile("audit").applyTo(mapper.readerFor(FiniteDomainClass.class)).readValue(json);
+            assertEquals("LOW", deserialized.defaultLevel.toString());
+        }
+
+        @Test
+        @DisplayName("null values")
+        void testNullValues() {
+            ObfuscationModule.Builder builder = ObfuscationModule.builder();
+            List<String> values = Arrays.asList("active", null);
+
+            assertThrows(NullPointerException.class, () -> builder.withFiniteDomain(null, List.of()));
+            assertThrows(NullPointerException.class, () -> builder.withFiniteDomain(String.class, null));
+            assertThrows(NullPointerException.class, () -> builder.withFiniteDomain(String.class, values));
+        }
+    }
+
+    @Nested
+    @DisplayName("plan cache")
+    class PlanCacheTest {
+
+        @Test
+        @DisplayName("shared by mappers")
+        void testSharedByMappers() {
+            ObjectFactory objectFactory = spy(new ObjectFactory() {
+
+                @Override
+                public <T> T instance(Class<T> type) {
+                    return ClassUtil.createInstance(type, true);
+                }
+            });
+
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .withObjectFactory(objectFactory)
+                    .build();
+
+            String json = "{\"stringValue\":\"foo\",\"intValue\":1}";
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(module)
+                    .build();
+            assertEquals("***", mapper.readValue(json, ConvertedClass.class).stringValue.toString());
+
+            int invocationCount = mockingDetails(objectFactory).getInvocations().size();
+
+            JsonMapper otherMapper = JsonMapper.builder()
+                    .addModule(module)
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+            assertEquals("***", otherMapper.readValue(json, ConvertedClass.class).stringValue.toString());
+
+            JsonMapper rebuiltMapper = mapper.rebuild().build();
+            assertEquals("***", rebuiltMapper.readValue(json, ConvertedClass.class).stringValue.toString());
+
+            assertEquals(invocationCount, mockingDetails(objectFactory).getInvocations().size());
+        }
+
+        @Test
+        @DisplayName("not shared between modules")
+        void testNotSharedBetweenModules() {
+            String json = "{\"stringValue\":\"foo\",\"intValue\":1}";
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDefaultObfuscator(String.class, Obfuscator.fixedValue("first"))
+                            .build())
+                    .build();
+            assertEquals("first", mapper.readValue(json, ConvertedClass.class).stringValue.toString());
+
+            JsonMapper otherMapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDefaultObfuscator(String.class, Obfuscator.fixedValue("second"))
+                            .build())
+                    .build();
+            assertEquals("second", otherMapper.readValue(json, ConvertedClass.class).stringValue.toString());
+        }
+
+        @Test
+        @DisplayName("not shared with mix-ins")
+        void testNotSharedWithMixIns() {
+            ObfuscationModule module = ObfuscationModule.builder().build();
+
+            String json = "{\"stringValue\":\"foo\",\"intValue\":1}";
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(module)
+                    .build();
+            assertEquals("***", mapper.readValue(json, ConvertedClass.class).stringValue.toString());
+
+            JsonMapper mixInMapper = JsonMapper.builder()
+                    .addModule(module)
+                    .addMixIn(ConvertedClass.class, ConvertedClassMixIn.class)
+                    .build();
+            assertEquals("<mixed in>", mixInMapper.readValue(json, ConvertedClass.class).stringValue.toString());
+        }
+
+        @Test
+        @DisplayName("not shared with different annotation settings")
+        void testNotSharedWithDifferentAnnotationSettings() {
+            ObfuscationModule module = ObfuscationModule.builder().build();
+
+            String json = "{\"stringValue\":\"foo\",\"intValue\":1}";
+
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(module)
+                    .build();
+            assertEquals("<converted>", mapper.readValue(json, AnnotatedConvertedClass.class).stringValue.toString());
+
+            JsonMapper noAnnotationsMapper = JsonMapper.builder()
+                    .addModule(module)
+                    .disable(MapperFeature.USE_ANNOTATIONS)
+                    .build();
+            assertEquals("***", noAnnotationsMapper.readValue(json, AnnotatedConvertedClass.class).stringValue.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("obfuscated collection serialization")
+    class ObfuscatedCollectionSerializationTest {
+
+        private final JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.defaultModule())
+                .build();
+
+        @Test
+        @DisplayName("round trip of large collections")
+        void testRoundTripOfLargeCollections() {
+            List<String> values = IntStream.range(0, 10_000)
+                    .mapToObj(i -> "value" + i)
+                    .toList();
+            String json = "{\"list\":" + mapper.writeValueAsString(values)
+                    + ",\"set\":[\"foo\"],\"collection\":" + mapper.writeValueAsString(values) + "}";
+
+            ObfuscatedCollectionsClass deserialized = mapper.readValue(json, ObfuscatedCollectionsClass.class);
+
+            assertEquals(values, deserialized.list);
+            assertThat(deserialized.list.toString(), startsWith("[******, ******, "));
+            assertEquals(json, mapper.writeValueAsString(deserialized));
+        }
+
+        @Test
+        @DisplayName("empty collections")
+        void testEmptyCollections() {
+            ObfuscatedCollectionsClass value = new ObfuscatedCollectionsClass();
+            value.list = Obfuscator.all().obfuscateList(new ArrayList<>());
+            value.set = Obfuscator.all().obfuscateSet(Set.of("foo"));
+            value.collection = Obfuscator.all().obfuscateCollection(new ArrayList<>());
+
+            assertEquals("{\"set\":[\"foo\"]}", mapper.writeValueAsString(value));
+        }
+
+        @Test
+        @DisplayName("deserialized collections are serialized directly")
+        void testDeserializedCollectionsSerializedDirectly() {
+            String json = "{\"codes\":[\"a\",\"b\"]}";
+
+            CodesClass deserialized = mapper.readValue(json, CodesClass.class);
+
+            assertEquals("[*, *]", deserialized.codes.toString());
+            assertEquals(List.of("a", "b"), deserialized.codes);
+            // The serializer of the deserialized list is used, not the serializer of the obfuscating view
+            assertEquals("{\"codes\":\"a|b\"}", mapper.writeValueAsString(deserialized));
+        }
+    }
+
+    @Nested
+    @DisplayName("size limits")
+    class SizeLimitsTest {
+
+        private final JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.defaultModule())
+                .build();
+
+        @Test
+        @DisplayName("within limits")
+        void testWithinLimits() {
+            String json = "{\"password\":\"12345\",\"codes\":[\"a\",\"b\"],\"attributes\":{\"a\":\"1\",\"b\":\"2\"},"
+                    + "\"unlimited\":\"123456789\"}";
+
+            LimitedClass deserialized = mapper.readValue(json, LimitedClass.class);
+
+            assertEquals("12345", deserialized.password.value());
+            assertEquals(List.of("a", "b"), deserialized.codes);
+            assertEquals(Map.of("a", "1", "b", "2"), deserialized.attributes);
+            assertEquals("123456789", deserialized.unlimited.value());
+        }
+
+        @Test
+        @DisplayName("string too long")
+        void testStringTooLong() {
+            String json = "{\"password\":\"123456\"}";
+
+            MismatchedInputException exception = assertThrows(MismatchedInputException.class, () -> mapper.readValue(json, LimitedClass.class));
+            assertThat(exception.getMessage(), containsString("maximum length of 5"));
+        }
+
+        @Test
+        @DisplayName("too many array elements")
+        void testTooManyArrayElements() {
+            String json = "{\"codes\":[\"a\",\"b\",\"c\"]}";
+
+            MismatchedInputException exception = assertThrows(MismatchedInputException.class, () -> mapper.readValue(json, LimitedClass.class));
+            assertThat(exception.getMessage(), containsString("maximum number of 2 elements"));
+        }
+
+        @Test
+        @DisplayName("too many object properties")
+        void testTooManyObjectProperties() {
+            String json = "{\"attributes\":{\"a\":\"1\",\"b\":\"2\",\"c\":\"3\"}}";
+
+            MismatchedInputException exception = assertThrows(MismatchedInputException.class, () -> mapper.readValue(json, LimitedClass.class));
+            assertThat(exception.getMessage(), containsString("maximum number of 2 elements"));
+        }
+
+        @Test
+        @DisplayName("too many array elements read using nextIntValue")
+        void testTooManyArrayElementsUsingNextIntValue() {
+            String json = "{\"intValues\":[1,2,3]}";
+
+            MismatchedInputException exception = assertThrows(MismatchedInputException.class, () -> mapper.readValue(json, LimitedClass.class));
+            assertThat(exception.getMessage(), containsString("maximum number of 2 elements"));
+
+            LimitedClass deserialized = mapper.readValue("{\"intValues\":[1,2]}", LimitedClass.class);
+            assertEquals(List.of(1, 2), deserialized.intValues.value().values);
+        }
+
+        @Test
+        @DisplayName("too many bean properties")
+        void testTooManyBeanProperties() {
+            JsonMapper limitedMapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDefaultMaxElements(1)
+                            .build())
+                    .build();
+
+            // Beans are deserialized using nextNameMatch
+            String json = "{\"convertedClass\":{\"stringValue\":\"foo\",\"intValue\":1}}";
+
+            MismatchedInputException exception = assertThrows(MismatchedInputException.class,
+                    () -> limitedMapper.readValue(json, NestedLimitedClass.class));
+            assertThat(exception.getMessage(), containsString("maximum number of 1 elements"));
+        }
+
+        @Test
+        @DisplayName("nested string too long")
+        void testNestedStringTooLong() {
+            JsonMapper limitedMapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDefaultMaxLength(3)
+                            .build())
+                    .build();
+
+            String json = "{\"codes\":[\"a\",\"bcde\"]}";
+
+            MismatchedInputException exception = assertThrows(MismatchedInputException.class,
+                    () -> limitedMapper.readValue(json, LimitedClass.class));
+            assertThat(exception.getMessage(), containsString("maximum length of 3"));
+        }
+
+        @Test
+        @DisplayName("module defaults")
+        void testModuleDefaults() {
+            JsonMapper limitedMapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDefaultMaxLength(3)
+                            .withDefaultMaxElements(1)
+                            .build())
+                    .build();
+
+            // The annotations override the module defaults
+            LimitedClass deserialized = limitedMapper.readValue("{\"password\":\"12345\",\"codes\":[\"a\",\"b\"]}", LimitedClass.class);
+            assertEquals("12345", deserialized.password.value());
+            assertEquals(List.of("a", "b"), deserialized.codes);
+
+            assertThrows(MismatchedInputException.class, () -> limitedMapper.readValue("{\"unlimited\":\"1234\"}", LimitedClass.class));
+        }
+
+        @Test
+        @DisplayName("deep obfuscation")
+        void testDeepObfuscation() {
+            JsonMapper limitedMapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDeepObfuscation(Card.class)
+                            .withDefaultMaxLength(3)
+                            .build())
+                    .build();
+
+            String json = "{\"card\":{\"number\":\"1234\"}}";
+
+            assertThrows(MismatchedInputException.class, () -> limitedMapper.readValue(json, DeepObfuscatedClass.class));
+        }
+
+        @Test
+        @DisplayName("invalid builder arguments")
+        void testInvalidBuilderArguments() {
+            ObfuscationModule.Builder builder = ObfuscationModule.builder();
+
+            assertThrows(IllegalArgumentException.class, () -> builder.withDefaultMaxLength(-1));
+            assertThrows(IllegalArgumentException.class, () -> builder.withDefaultMaxElements(-1));
+        }
+    }
+
+    @Nested
+    @DisplayName("deep obfuscation")
+    class DeepObfuscationTest {
+
+        private final String json = "{\"card\":{\"number\":\"1234\",\"expiryMonth\":12,\"codes\":[\"a\",\"b\"],"
+                + "\"billing\":{\"city\":\"Utrecht\",\"street\":null}},"
+                + "\"annotatedCard\":{\"number\":\"5678\"}}";
+
+        @Test
+        @DisplayName("with deep obfuscation")
+        void testWithDeepObfuscation() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDeepObfuscation(Card.class)
+                            .build())
+                    .build();
+
+            DeepObfuscatedClass deserialized = mapper.readValue(json, DeepObfuscatedClass.class);
+
+            assertEquals("1234", deserialized.card.value().number);
+            assertEquals(12, deserialized.card.value().expiryMonth);
+            assertEquals(List.of("a", "b"), deserialized.card.value().codes);
+            assertEquals("Utrecht", deserialized.card.value().billing.city);
+            assertEquals("{number=***, expiryMonth=***, codes=[***, ***], billing={city=***, street=null}}", deserialized.card.toString());
+
+            assertEquals("5678", deserialized.annotatedCard.value().number);
+            assertEquals("{number=*****}", deserialized.annotatedCard.toString());
+        }
+
+        @Test
+        @DisplayName("mapped deeply obfuscated values")
+        void testMappedDeeplyObfuscatedValues() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDeepObfuscation(Card.class)
+                            .build())
+                    .build();
+
+            DeepObfuscatedClass deserialized = mapper.readValue(json, DeepObfuscatedClass.class);
+
+            // Derived values are obfuscated using the property's obfuscator, not passed through like the deep representation
+            assertEquals("***", deserialized.card.map(card -> card.number).toString());
+            assertEquals("*****", deserialized.annotatedCard.map(card -> card.number).toString());
+            assertEquals("***", deserialized.card.cached().map(card -> card.billing.city).toString());
+        }
+
+        @Test
+        @DisplayName("with deep obfuscation for interface")
+        void testWithDeepObfuscationForInterface() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDeepObfuscation(PaymentMethod.class)
+                            .build())
+                    .build();
+
+            DeepObfuscatedClass deserialized = mapper.readValue(json, DeepObfuscatedClass.class);
+
+            assertEquals("{number=***, expiryMonth=***, codes=[***, ***], billing={city=***, street=null}}", deserialized.card.toString());
+            assertEquals("{number=*****}", deserialized.annotatedCard.toString());
+        }
+
+        @Test
+        @DisplayName("without deep obfuscation")
+        void testWithoutDeepObfuscation() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.defaultModule())
+                    .build();
+
+            DeepObfuscatedClass deserialized = mapper.readValue(json, DeepObfuscatedClass.class);
+
+            assertEquals("1234", deserialized.card.value().number);
+            assertEquals("***", deserialized.card.toString());
+            assertEquals("*****", deserialized.annotatedCard.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("dynamic properties")
+    class DynamicPropertiesTest {
+
+        private final String json = "{\"name\":\"foo\",\"password\":\"secret\",\"other\":\"value\",\"card\":{\"number\":\"1234\"}}";
+
+        @Test
+        @DisplayName("with dynamic property obfuscators")
+        void testWithDynamicPropertyObfuscators() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.builder()
+                            .withDynamicPropertyObfuscator("password", Obfuscator.fixedLength(3))
+                            .withDynamicPropertyObfuscator("card", Obfuscator.fixedLength(5))
+                            .build())
+                    .build();
+
+            DynamicClass deserialized = mapper.readValue(json, DynamicClass.class);
+
+            assertEquals("foo", deserialized.name);
+
+            Object password = deserialized.dynamicProperties.get("password");
+            assertThat(password, instanceOf(Obfuscated.class));
+            assertEquals("secret", ((Obfuscated<?>) password).value());
+            assertEquals("***", password.toString());
+
+            Object card = deserialized.dynamicProperties.get("card");
+            assertThat(card, instanceOf(Obfuscated.class));
+            assertEquals(Map.of("number", "1234"), ((Obfuscated<?>) card).value());
+            assertEquals("*****", card.toString());
+
+            assertEquals("value", deserialized.dynamicProperties.get("other"));
+
+            String serialized = mapper.writeValueAsString(deserialized);
+            assertThat(serialized, containsString("\"password\":\"secret\""));
+            assertThat(serialized, containsString("\"other\":\"value\""));
+            assertThat(serialized, containsString("\"card\":{\"number\":\"1234\"}"));
+        }
+
+        @Test
+        @DisplayName("without dynamic property obfuscators")
+        void testWithoutDynamicPropertyObfuscators() {
+            JsonMapper mapper = JsonMapper.builder()
+                    .addModule(ObfuscationModule.defaultModule())
+                    .build();
+
+            DynamicClass deserialized = mapper.readValue(json, DynamicClass.class);
+
+            assertEquals("secret", deserialized.dynamicProperties.get("password"));
+            assertEquals(Map.of("number", "1234"), deserialized.dynamicProperties.get("card"));
+
+            String serialized = mapper.writeValueAsString(deserialized);
+            assertThat(serialized, containsString("\"password\":\"secret\""));
+            assertThat(serialized, containsString("\"other\":\"value\""));
+            assertThat(serialized, containsString("\"card\":{\"number\":\"1234\"}"));
+        }
+    }
+
+    @Nested
+    @DisplayName("serialization")
+    class SerializationTest {
+
+        @Test
+        @DisplayName("default module")
+        void testDefaultModule() throws IOException, ClassNotFoundException {
+            ObfuscationModule module = ObfuscationModule.defaultModule();
+
+            ObfuscationModule deserialized = serializeAndDeserialize(module);
+
+            assertSame(module, deserialized);
+        }
+
+        @Test
+        @DisplayName("custom module")
+        void testCustomModule() throws IOException, ClassNotFoundException {
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .withDefaultCharacterRepresentation(Number.class, (CharacterRepresentationProvider & Serializable) s -> "<number>")
+                    .withDefaultCharacterRepresentation(CharSequence.class, (CharacterRepresentationProvider & Serializable) s -> "<charSequence>")
+                    .requireObfuscatorAnnotation(true)
+                    .build();
+
+            ObfuscationModule deserialized = serializeAndDeserialize(module);
+
+            assertNotSame(module, deserialized);
+
+            TestClass original = new TestClass();
+
+            String json = createMapper(module).writeValueAsString(original);
+
+            TestClass expected = createMapper(module).readValue(json, TestClass.class);
+            TestClass actual = createMapper(deserialized).readValue(json, TestClass.class);
+
+            assertEquals(expected.stringValue.toString(), actual.stringValue.toString());
+            assertEquals(expected.intValue.toString(), actual.intValue.toString());
+            assertEquals(expected.nestedClass.toString(), actual.nestedClass.toString());
+            assertEquals(expected.stringList.toString(), actual.stringList.toString());
+            assertEquals(expected.intList.toString(), actual.intList.toString());
+            assertEquals(expected.upperCaseObfuscatedList.toString(), actual.upperCaseObfuscatedList.toString());
+            assertEquals(expected.negateValueObfuscatedMap.toString(), actual.negateValueObfuscatedMap.toString());
+        }
+
+        @Test
+        @DisplayName("module with non-serializable object factory")
+        void testModuleWithNonSerializableObjectFactory() {
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .withObjectFactory(new ObjectFactory() {
+
+                        @Override
+                        public <T> T instance(Class<T> type) {
+                            return ClassUtil.createInstance(type, true);
+                        }
+                    })
+                    .build();
+
+            assertThrows(NotSerializableException.class, () -> serializeAndDeserialize(module));
+        }
+
+        @Test
+        @DisplayName("module with non-serializable metrics listener")
+        void testModuleWithNonSerializableMetricsListener() {
+            ObfuscationModule module = ObfuscationModule.builder()
+                    .withMetricsListener(mock(ObfuscationMetricsListener.class))
+                    .build();
+
+            NotSerializableException exception = assertThrows(NotSerializableException.class, () -> serializeAndDeserialize(module));
+            assertThat(exception.getMessage(), containsString("metrics listener"));
+        }
+
+        @Test
+        @DisplayName("module with factory")
+        void testModuleWithFactory() throws IOException, ClassNotFoundException {
+            ObfuscationModule module = createFixedLengthModule();
+
+            ObfuscationModule deserialized = serializeAndDeserialize(module);
+
+            assertNotSame(module, deserialized);
+
+            String json = "{\"stringValue\":\"foo\",\"intValue\":1}";
+
+            ConvertedClass actual = createMapper(deserialized).readValue(json, ConvertedClass.class);
+
+            assertEquals("********", actual.stringValue.toString());
+            assertEquals("********", actual.intValue.toString());
+
+            // The recreated module has the same factory
+            assertNotSame(deserialized, serializeAndDeserialize(deserialized));
+        }
+
+        @Test
+        @DisplayName("mapper with default module")
+        void testMapperWithDefaultModule() throws IOException, ClassNotFoundException {
+            JsonMapper mapper = createMapper(ObfuscationModule.defaultModule());
+
+            TestClass original = new TestClass();
+
+            String json = mapper.writeValueAsString(original);
+
+            JsonMapper deserializedMapper = serializeAndDeserialize(mapper);
+
+            assertEquals(json, deserializedMapper.writeValueAsString(original));
+
+            TestClass deserialized = deserializedMapper.readValue(json, TestClass.class);
+
+            assertEquals(original.stringValue, deserialized.stringValue);
+            assertEquals(original.obfuscatedList, deserialized.obfuscatedList);
+
+            assertEquals("***", deserialized.stringValue.toString());
+            assertEquals("[***]", deserialized.intArray.toString());
+            assertEquals("<<13>>", deserialized.nestedClass.toString());
+            assertEquals("[********, ********]", deserialized.obfuscatedList.toString());
+            assertEquals("{1=-***2}", deserialized.negateValueObfuscatedMap.toString());
+        }
+
+        private JsonMapper createMapper(JacksonModule module) {
+            return JsonMapper.builder()
+                    .addModule(module)
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T serializeAndDeserialize(T object) throws IOException, ClassNotFoundException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+                objectOutput.writeObject(object);
+            }
+            try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+                return (T) objectInput.readObject();
+            }
+        }
+    }
+
+    private static ObfuscationModule createFixedLengthModule() {
+        return ObfuscationModule.builder()
+                .withDefaultObfuscator(Obfuscator.fixedLength(8))
+                .withDefaultObfuscator(String.class, Obfuscator.fixedLength(8))
+                .serializeUsing(ObfuscationModuleTest::createFixedLengthModule)
+                .build();
+    }
+
     @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
     public static final class TestClass {
 
@@ -762,6 +1903,190 @@ class ObfuscationModuleTest {
     }
 
     @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+    public static final class ConvertedClass {
+
+        public Obfuscated<String> stringValue;
+        public Obfuscated<Integer> intValue;
+    }
+
+    public static final class RetypedConvertedClass {
+
+        public Obfuscated<String> intValue;
+    }
+
+    public static final class AnnotatedConvertedClass {
+
+        @ObfuscateFixedValue("<converted>")
+        public Obfuscated<String> stringValue;
+
+        public Obfuscated<Integer> intValue;
+    }
+
+    public static final class LimitedClass {
+
+        @ObfuscationLimits(maxLength = 5)
+        public Obfuscated<String> password;
+
+        @ObfuscateAll
+        @ObfuscationLimits(maxElements = 2)
+        public List<String> codes;
+
+        @ObfuscateAll
+        @ObfuscationLimits(maxElements = 2)
+        public Map<String, String> attributes;
+
+        public Obfuscated<String> unlimited;
+
+        @ObfuscationLimits(maxElements = 2)
+        public Obfuscated<IntValues> intValues;
+    }
+
+    public static final class NestedLimitedClass {
+
+        public Obfuscated<ConvertedClass> convertedClass;
+    }
+
+    @JsonDeserialize(using = IntValuesDeserializer.class)
+    public static final class IntValues {
+
+        private final List<Integer> values;
+
+        private IntValues(List<Integer> values) {
+            this.values = values;
+        }
+    }
+
+    public static final class IntValuesDeserializer extends ValueDeserializer<IntValues> {
+
+        @Override
+        public IntValues deserialize(JsonParser p, DeserializationContext ctxt) {
+            // Reads the array using nextIntValue instead of nextToken
+            List<Integer> values = new ArrayList<>();
+            int value;
+            while ((value = p.nextIntValue(-1)) != -1) {
+                values.add(value);
+            }
+            return new IntValues(values);
+        }
+    }
+
+    public abstract static class ConvertedClassMixIn {
+
+        @ObfuscateFixedValue("<mixed in>")
+        public Obfuscated<String> stringValue;
+    }
+
+    public static final class CodesClass {
+
+        @ObfuscateAll
+        @JsonDeserialize(using = CodesDeserializer.class)
+        public List<String> codes;
+    }
+
+    @JsonSerialize(using = CodesSerializer.class)
+    @SuppressWarnings("serial")
+    public static final class Codes extends ArrayList<String> {
+        // no body
+    }
+
+    public static final class CodesDeserializer extends ValueDeserializer<Codes> {
+
+        @Override
+        public Codes deserialize(JsonParser p, DeserializationContext ctxt) {
+            Codes codes = new Codes();
+            String code;
+            while ((code = p.nextStringValue()) != null) {
+                codes.add(code);
+            }
+            return codes;
+        }
+    }
+
+    public static final class CodesSerializer extends ValueSerializer<Codes> {
+
+        @Override
+        public void serialize(Codes value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeString(String.join("|", value));
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static final class ObfuscatedCollectionsClass {
+
+        @ObfuscateAll
+        public List<String> list;
+
+        @ObfuscateAll
+        public Set<String> set;
+
+        @ObfuscateAll
+        public Collection<String> collection;
+    }
+
+    public enum Level {
+        LOW, MEDIUM, HIGH
+    }
+
+    public static final class FiniteDomainClass {
+
+        @ObfuscatePortion(keepAtStart = 2, fixedTotalLength = 5)
+        public Obfuscated<Level> level;
+
+        @ObfuscatePortion(keepAtStart = 2, fixedTotalLength = 5)
+        public Obfuscated<Boolean> enabled;
+
+        @ObfuscatePortion(keepAtStart = 2, fixedTotalLength = 5)
+        public Obfuscated<Boolean> disabled;
+
+        @ObfuscatePortion(keepAtStart = 2, fixedTotalLength = 5)
+        public Obfuscated<String> status;
+
+        public Obfuscated<Level> defaultLevel;
+    }
+
+    public static final class DynamicClass {
+
+        public String name;
+
+        private final Map<String, Object> dynamicProperties = new LinkedHashMap<>();
+
+        @JsonAnySetter
+        public void setDynamicProperty(String propertyName, Object value) {
+            dynamicProperties.put(propertyName, value);
+        }
+
+        @JsonAnyGetter
+        public Map<String, Object> getDynamicProperties() {
+            return dynamicProperties;
+        }
+    }
+
+    public static final class DeepObfuscatedClass {
+
+        public Obfuscated<Card> card;
+
+        @ObfuscateFixedLength(5)
+        public Obfuscated<Card> annotatedCard;
+    }
+
+    public interface PaymentMethod {
+        // marker interface
+    }
+
+    public static final class Card implements PaymentMethod {
+
+        public String number;
+        public int expiryMonth;
+        public List<String> codes;
+        public Address billing;
+    }
+
+    public static final class Address {
+
+        public String city;
+        public String street;
+    }
+
     public static final class NestedClass {
 
         public int intValue = 13;
@@ -0,0 +1,169 @@
+/*
+ * ParallelReaderTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.ConvertedClass;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class ParallelReaderTest {
+
+    private static final int VALUE_COUNT = 2500;
+
+    private ExecutorService executor;
+    private ParallelReader<ConvertedClass> parallelReader;
+
+    @BeforeEach
+    void initReader() {
+        executor = Executors.newFixedThreadPool(4);
+
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.defaultModule())
+                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        parallelReader = ParallelReader.builder(mapper.reader(), ConvertedClass.class)
+                .withExecutor(executor)
+                .withChunkSize(100)
+                .withMaxPendingChunks(3)
+                .build();
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("readArray")
+    void testReadArray() {
+        String json = IntStream.range(0, VALUE_COUNT)
+                .mapToObj(ParallelReaderTest::json)
+                .collect(Collectors.joining(",", "[", "]"));
+
+        try (Stream<ConvertedClass> stream = parallelReader.readArray(new StringReader(json))) {
+            assertValues(stream.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("readArray with empty array")
+    void testReadArrayWithEmptyArray() {
+        try (Stream<ConvertedClass> stream = parallelReader.readArray(new StringReader("[]"))) {
+            assertEquals(0, stream.count());
+        }
+    }
+
+    @Test
+    @DisplayName("readArray with non-array")
+    void testReadArrayWithNonArray() {
+        StringReader input = new StringReader(json(0));
+
+        assertThrows(JacksonException.class, () -> parallelReader.readArray(input));
+    }
+
+    @Test
+    @DisplayName("readValues")
+    void testReadValues() {
+        String json = IntStream.range(0, VALUE_COUNT)
+                .mapToObj(ParallelReaderTest::json)
+                .collect(Collectors.joining("\n"));
+
+        try (Stream<ConvertedClass> stream = parallelReader.readValues(new StringReader(json))) {
+            assertValues(stream.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("invalid value")
+    void testInvalidValue() {
+        String json = IntStream.range(0, VALUE_COUNT)
+                .mapToObj(i -> i == VALUE_COUNT / 2 ? "{\"unknown\":1}" : json(i))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        try (Stream<ConvertedClass> stream = parallelReader.readArray(new StringReader(json))) {
+            assertThrows(JacksonException.class, stream::toList);
+        }
+    }
+
+    @Test
+    @DisplayName("profile")
+    void testProfile() {
+        ObfuscationModule module = ObfuscationModule.builder()
+                .withProfileObfuscator("strict", String.class, Obfuscator.fixedValue("<string>"))
+                .build();
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(module)
+                .build();
+        ObjectReader reader = module.profile("strict").applyTo(mapper.reader());
+
+        ParallelReader<ConvertedClass> profileReader = ParallelReader.builder(reader, ConvertedClass.class)
+                .withExecutor(executor)
+                .withChunkSize(10)
+                .build();
+
+        try (Stream<ConvertedClass> stream = profileReader.readValues(new StringReader(json(1) + json(2)))) {
+            List<ConvertedClass> values = stream.toList();
+
+            assertEquals(2, values.size());
+            assertEquals("<string>", values.get(0).stringValue.toString());
+            assertEquals("***", values.get(0).intValue.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("invalid builder arguments")
+    void testInvalidBuilderArguments() {
+        ParallelReader.Builder<ConvertedClass> builder = ParallelReader.builder(JsonMapper.builder().build().reader(), ConvertedClass.class);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.withChunkSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.withMaxPendingChunks(0));
+        assertThrows(NullPointerException.class, () -> builder.withExecutor(null));
+    }
+
+    private static String json(int i) {
+        return "{\"stringValue\":\"value" + i + "\",\"intValue\":" + i + "}";
+    }
+
+    private static void assertValues(List<ConvertedClass> values) {
+        assertEquals(VALUE_COUNT, values.size());
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            ConvertedClass value = values.get(i);
+            assertEquals("value" + i, value.stringValue.value());
+            assertEquals(i, value.intValue.value());
+            assertEquals("***", value.stringValue.toString());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * PrimitiveListsTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.ObfuscateAll;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.exc.MismatchedInputException;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class PrimitiveListsTest {
+
+    @Test
+    @DisplayName("reader")
+    void testReader() {
+        assertNotNull(PrimitiveLists.reader(Integer.class));
+        assertNotNull(PrimitiveLists.reader(Long.class));
+        assertNull(PrimitiveLists.reader(Short.class));
+        assertNull(PrimitiveLists.reader(String.class));
+        assertNull(PrimitiveLists.reader(int.class));
+    }
+
+    @Nested
+    @DisplayName("with module")
+    class WithModuleTest {
+
+        private final JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.builder()
+                        .primitiveNumericLists(true)
+                        .build())
+                .build();
+
+        @Test
+        @DisplayName("large arrays")
+        void testLargeArrays() {
+            List<Long> longs = LongStream.range(0, 100_000)
+                    .map(i -> i * 1_000_000_000L)
+                    .boxed()
+                    .toList();
+            List<Integer> ints = IntStream.range(0, 100_000)
+                    .boxed()
+                    .toList();
+            String json = "{\"longs\":" + mapper.writeValueAsString(longs) + ",\"ints\":" + mapper.writeValueAsString(ints) + "}";
+
+            NumericClass deserialized = mapper.readValue(json, NumericClass.class);
+
+            assertEquals(longs, deserialized.longs);
+            assertEquals(ints, new ArrayList<>(deserialized.ints));
+            assertTrue(deserialized.longs.contains(5_000_000_000L));
+            assertFalse(deserialized.longs.contains(5));
+            assertThat(mapper.writeValueAsString(deserialized), containsString(json.substring(1, json.length() - 1)));
+        }
+
+        @Test
+        @DisplayName("obfuscation")
+        void testObfuscation() {
+            NumericClass deserialized = mapper.readValue("{\"longs\":[1,22],\"ints\":[333],\"intSet\":[4444]}", NumericClass.class);
+
+            assertEquals("[*, **]", deserialized.longs.toString());
+            assertEquals("[***]", deserialized.ints.toString());
+            assertEquals("[****]", deserialized.intSet.toString());
+        }
+
+        @Test
+        @DisplayName("obfuscation without boxing")
+        void testObfuscationWithoutBoxing() {
+            NumericClass deserialized = mapper.readValue("{\"longs\":[1,-22,3000000000],\"ints\":[333,-4]}", NumericClass.class);
+
+            List<?> longs = (List<?>) ObfuscatingCollections.unwrap(deserialized.longs);
+            Collection<?> ints = (Collection<?>) ObfuscatingCollections.unwrap(deserialized.ints);
+            Obfuscator obfuscator = Obfuscator.portion().keepAtStart(1).withFixedTotalLength(4).build();
+
+            // The representations are built from the backing arrays
+            assertEquals(obfuscator.obfuscateList(new ArrayList<>(longs), String::valueOf).toString(),
+                    PrimitiveLists.obfuscatedRepresentation(longs, obfuscator).toString());
+            assertEquals(obfuscator.obfuscateCollection(new ArrayList<>(ints), String::valueOf).toString(),
+                    PrimitiveLists.obfuscatedRepresentation(ints, obfuscator).toString());
+            assertNull(PrimitiveLists.obfuscatedRepresentation(new ArrayList<>(longs), obfuscator));
+
+            // The element representation is not used for the default character representation
+            Function<Object, CharSequence> failingRepresentation = element -> fail("Element was boxed: " + element);
+            assertEquals("[1***, -***, 3***]", ObfuscatingCollections.list(longs, obfuscator, failingRepresentation, true).toString());
+            assertEquals("[3***, -***]", ObfuscatingCollections.collection(ints, obfuscator, failingRepresentation, true).toString());
+            assertEquals("[3***, -***]", ObfuscatingCollections.collection(ints, obfuscator, String::valueOf, false).toString());
+        }
+
+        @Test
+        @DisplayName("immutable")
+        void testImmutable() {
+            NumericClass deserialized = mapper.readValue("{\"longs\":[1],\"ints\":[2]}", NumericClass.class);
+
+            assertThrows(UnsupportedOperationException.class, () -> deserialized.longs.add(2L));
+            assertThrows(UnsupportedOperationException.class, () -> deserialized.ints.clear());
+        }
+
+        @Test
+        @DisplayName("empty arrays")
+        void testEmptyArrays() {
+            NumericClass deserialized = mapper.readValue("{\"longs\":[],\"ints\":[]}", NumericClass.class);
+
+            assertEquals(List.of(), deserialized.longs);
+            assertEquals(List.of(), new ArrayList<>(deserialized.ints));
+        }
+
+        @Test
+        @DisplayName("coerced elements")
+        void testCoercedElements() {
+            NumericClass deserialized = mapper.readValue("{\"longs\":[\"1\",2],\"ints\":[\"3\"]}", NumericClass.class);
+
+            assertEquals(List.of(1L, 2L), deserialized.longs);
+            assertEquals(List.of(3), new ArrayList<>(deserialized.ints));
+        }
+
+        @Test
+        @DisplayName("null elements")
+        void testNullElements() {
+            MismatchedInputException exception = assertThrows(MismatchedInputException.class,
+                    () -> mapper.readValue("{\"longs\":[1,null]}", NumericClass.class));
+            assertThat(exception.getMessage(), containsString("null element"));
+        }
+
+        @Test
+        @DisplayName("out of range elements")
+        void testOutOfRangeElements() {
+            String json = "{\"ints\":[" + Long.MAX_VALUE + "]}";
+
+            assertThrows(JacksonException.class, () -> mapper.readValue(json, NumericClass.class));
+        }
+    }
+
+    @Test
+    @DisplayName("disabled")
+    void testDisabled() {
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.defaultModule())
+                .build();
+
+        NumericClass deserialized = mapper.readValue("{\"longs\":[1,null],\"ints\":[2]}", NumericClass.class);
+
+        List<Long> expected = new ArrayList<>();
+        expected.add(1L);
+        expected.add(null);
+        assertEquals(expected, deserialized.longs);
+
+        // the collections are mutable
+        deserialized.ints.add(3);
+        assertEquals(List.of(2, 3), new ArrayList<>(deserialized.ints));
+    }
+
+    @Test
+    @DisplayName("element types without primitive support")
+    void testOtherElementTypes() {
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.builder()
+                        .primitiveNumericLists(true)
+                        .build())
+                .build();
+
+        NumericClass deserialized = mapper.readValue("{\"shorts\":[1,null]}", NumericClass.class);
+
+        assertEquals(Arrays.asList((short) 1, null), deserialized.shorts);
+    }
+
+    public static final class NumericClass {
+
+        @ObfuscateAll
+        public List<Long> longs;
+
+        @ObfuscateAll
+        public Collection<Integer> ints;
+
+        @ObfuscateAll
+        public Set<Integer> intSet;
+
+        @ObfuscateAll
+        public List<Short> shorts;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * PseudonymizingObfuscatorTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.ConvertedClass;
+import tools.jackson.databind.json.JsonMapper;
+
+@SuppressWarnings("nls")
+class PseudonymizingObfuscatorTest {
+
+    private static final byte[] KEY = "secret-key".getBytes(StandardCharsets.UTF_8);
+
+    @Nested
+    @DisplayName("obfuscateText")
+    class ObfuscateText {
+
+        @Test
+        @DisplayName("matches HMAC")
+        void testMatchesHmac() throws GeneralSecurityException {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).build();
+
+            assertEquals(hmac("HmacSHA256", "customer-1").substring(0, 16), obfuscator.obfuscateText("customer-1").toString());
+        }
+
+        @Test
+        @DisplayName("deterministic")
+        void testDeterministic() {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).withCacheSize(0).build();
+            PseudonymizingObfuscator other = PseudonymizingObfuscator.builder(KEY).build();
+
+            assertEquals(obfuscator.obfuscateText("customer-1").toString(), obfuscator.obfuscateText("customer-1").toString());
+            assertEquals(obfuscator.obfuscateText("customer-1").toString(), other.obfuscateText("customer-1").toString());
+            assertNotEquals(obfuscator.obfuscateText("customer-1").toString(), obfuscator.obfuscateText("customer-2").toString());
+        }
+
+        @Test
+        @DisplayName("different keys")
+        void testDifferentKeys() {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).build();
+            PseudonymizingObfuscator other = PseudonymizingObfuscator.builder("other-key".getBytes(StandardCharsets.UTF_8)).build();
+
+            assertNotEquals(obfuscator.obfuscateText("customer-1").toString(), other.obfuscateText("customer-1").toString());
+        }
+
+        @Test
+        @DisplayName("with algorithm and token length")
+        void testWithAlgorithmAndTokenLength() throws GeneralSecurityException {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY)
+                    .withAlgorithm("HmacSHA512")
+                    .withTokenLength(25)
+                    .build();
+
+            assertEquals(hmac("HmacSHA512", "customer-1").substring(0, 25), obfuscator.obfuscateText("customer-1").toString());
+        }
+
+        @Test
+        @DisplayName("with range")
+        void testWithRange() throws IOException {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).build();
+
+            String expected = obfuscator.obfuscateText("customer-1").toString();
+
+            assertEquals(expected, obfuscator.obfuscateText("[customer-1]", 1, 11).toString());
+
+            StringBuilder destination = new StringBuilder();
+            obfuscator.obfuscateText("[customer-1]", 1, 11, destination);
+            assertEquals(expected, destination.toString());
+
+            assertThrows(IndexOutOfBoundsException.class, () -> obfuscator.obfuscateText("customer-1", 5, 11));
+        }
+
+        @Test
+        @DisplayName("from Reader")
+        void testFromReader() throws IOException {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).build();
+
+            StringBuilder destination = new StringBuilder();
+            obfuscator.obfuscateText(new StringReader("customer-1"), destination);
+
+            assertEquals(obfuscator.obfuscateText("customer-1").toString(), destination.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("streamTo")
+    void testStreamTo() throws IOException {
+        PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).build();
+
+        StringBuilder destination = new StringBuilder();
+        try (Writer writer = obfuscator.streamTo(destination)) {
+            writer.write("customer");
+            writer.write("-1");
+            assertEquals("", destination.toString());
+        }
+
+        assertEquals(obfuscator.obfuscateText("customer-1").toString(), destination.toString());
+    }
+
+    @Nested
+    @DisplayName("cache")
+    class Cache {
+
+        @Test
+        @DisplayName("hits and misses")
+        void testHitsAndMisses() {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).build();
+
+            obfuscator.obfuscateText("customer-1");
+            obfuscator.obfuscateText("customer-1");
+            obfuscator.obfuscateText("customer-2");
+            obfuscator.obfuscateText("customer-1");
+
+            assertEquals(2, obfuscator.cacheHits());
+            assertEquals(2, obfuscator.cacheMisses());
+        }
+
+        @Test
+        @DisplayName("least recently used values are evicted")
+        void testEviction() {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).withCacheSize(1).build();
+
+            obfuscator.obfuscateText("customer-1");
+            obfuscator.obfuscateText("customer-2");
+            obfuscator.obfuscateText("customer-1");
+
+            assertEquals(0, obfuscator.cacheHits());
+            assertEquals(3, obfuscator.cacheMisses());
+        }
+
+        @Test
+        @DisplayName("disabled")
+        void testDisabled() {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).withCacheSize(0).build();
+
+            obfuscator.obfuscateText("customer-1");
+            obfuscator.obfuscateText("customer-1");
+
+            assertEquals(0, obfuscator.cacheHits());
+            assertEquals(2, obfuscator.cacheMisses());
+        }
+
+        @Test
+        @DisplayName("concurrent access")
+        void testConcurrentAccess() throws Exception {
+            PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).withCacheSize(50).build();
+            PseudonymizingObfuscator reference = PseudonymizingObfuscator.builder(KEY).withCacheSize(0).build();
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                Future<?>[] futures = new Future<?>[4];
+                for (int t = 0; t < futures.length; t++) {
+                    futures[t] = executor.submit(() -> {
+                        for (int i = 0; i < 1000; i++) {
+                            String value = "customer-" + i % 100;
+                            assertEquals(reference.obfuscateText(value).toString(), obfuscator.obfuscateText(value).toString());
+                        }
+                    });
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(4000, obfuscator.cacheHits() + obfuscator.cacheMisses());
+        }
+    }
+
+    @Test
+    @DisplayName("toString does not include key")
+    void testToString() {
+        PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).build();
+
+        assertThat(obfuscator.toString(), containsString("HmacSHA256"));
+        assertThat(obfuscator.toString(), not(containsString("secret-key")));
+    }
+
+    @Test
+    @DisplayName("as default obfuscator")
+    void testAsDefaultObfuscator() {
+        PseudonymizingObfuscator obfuscator = PseudonymizingObfuscator.builder(KEY).build();
+
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(ObfuscationModule.builder()
+                        .withDefaultObfuscator(String.class, obfuscator)
+                        .build())
+                .build();
+
+        ConvertedClass deserialized = mapper.readValue("{\"stringValue\":\"customer-1\",\"intValue\":1}", ConvertedClass.class);
+
+        assertEquals("customer-1", deserialized.stringValue.value());
+        assertEquals(obfuscator.obfuscateText("customer-1").toString(), deserialized.stringValue.toString());
+        assertEquals("***", deserialized.intValue.toString());
+    }
+
+    @Test
+    @DisplayName("invalid builder arguments")
+    void testInvalidBuilderArguments() {
+        byte[] emptyKey = {};
+
+        assertThrows(NullPointerException.class, () -> PseudonymizingObfuscator.builder(null));
+        assertThrows(IllegalArgumentException.class, () -> PseudonymizingObfuscator.builder(emptyKey));
+
+        PseudonymizingObfuscator.Builder builder = PseudonymizingObfuscator.builder(KEY);
+
+        assertThrows(NullPointerException.class, () -> builder.withAlgorithm(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.withTokenLength(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.withCacheSize(-1));
+
+        PseudonymizingObfuscator.Builder unknownAlgorithm = PseudonymizingObfuscator.builder(KEY).withAlgorithm("unknown");
+        assertThrows(IllegalStateException.class, unknownAlgorithm::build);
+
+        PseudonymizingObfuscator.Builder tooLong = PseudonymizingObfuscator.builder(KEY).withTokenLength(65);
+        assertThrows(IllegalStateException.class, tooLong::build);
+    }
+
+    private static String hmac(String algorithm, String value) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(algorithm);
+        mac.init(new SecretKeySpec(KEY, algorithm));
+        return HexFormat.of().formatHex(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * TypeAnnotationCacheTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.obfuscation.jackson.databind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.obfuscation.Obfuscator;
+import com.github.robtimus.obfuscation.annotation.CharacterRepresentationProvider;
+import com.github.robtimus.obfuscation.annotation.ObjectFactory;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.Annotated;
+import com.github.robtimus.obfuscation.jackson.databind.ObfuscationModuleTest.AnnotatedRepresentation;
+
+@SuppressWarnings("nls")
+class TypeAnnotationCacheTest {
+
+    @Test
+    @DisplayName("obfuscator(Class<?>)")
+    void testObfuscator() {
+        TypeAnnotationCache cache = new TypeAnnotationCache(new CountingObjectFactory());
+
+        Optional<Obfuscator> obfuscator = cache.obfuscator(Annotated.class);
+
+        assertTrue(obfuscator.isPresent());
+        assertSame(obfuscator.get(), cache.obfuscator(Annotated.class).get());
+
+        assertFalse(cache.obfuscator(String.class).isPresent());
+        assertFalse(cache.obfuscator(String.class).isPresent());
+    }
+
+    @Test
+    @DisplayName("characterRepresentationProvider(Class<?>)")
+    void testCharacterRepresentationProvider() {
+        CountingObjectFactory objectFactory = new CountingObjectFactory();
+        TypeAnnotationCache cache = new TypeAnnotationCache(objectFactory);
+
+        Optional<CharacterRepresentationProvider> provider = cache.characterRepresentationProvider(Annotated.class);
+
+        assertTrue(provider.isPresent());
+        assertSame(provider.get(), cache.characterRepresentationProvider(Annotated.class).get());
+        assertEquals(List.of(AnnotatedRepresentation.class), objectFactory.instantiatedTypes);
+
+        assertFalse(cache.characterRepresentationProvider(String.class).isPresent());
+        assertFalse(cache.characterRepresentationProvider(String.class).isPresent());
+    }
+
+    @Test
+    @DisplayName("failing object factory")
+    void testFailingObjectFactory() {
+        ObjectFactory objectFactory = new ObjectFactory() {
+            @Override
+            public <T> T instance(Class<T> type) {
+                throw new IllegalStateException("failed");
+            }
+        };
+        TypeAnnotationCache cache = new TypeAnnotationCache(objectFactory);
+
+        // failures are not cached
+        assertThrows(IllegalStateException.class, () -> cache.characterRepresentationProvider(Annotated.class));
+        assertThrows(IllegalStateException.class, () -> cache.characterRepresentationProvider(Annotated.class));
+    }
+
+    private static final class CountingObjectFactory implements ObjectFactory {
+
+        private final List<Class<?>> instantiatedTypes = new ArrayList<>();
+
+        @Override
+        public <T> T instance(Class<T> type) {
+            instantiatedTypes.add(type);
+            try {
+                return type.getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}